@@ -0,0 +1,96 @@
+package expressionparser.benchmark;
+
+import expressionparser.model.BatchEvaluator;
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.Expression;
+import expressionparser.model.SymbolTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchEvaluationBenchmark {
+    private static final String FORMULA = "price * quantity * (1 - discount) + (quantity > 10) * 5 - price / (quantity + 1)";
+
+    @Param({"100000"})
+    private int rows;
+
+    private Expression expression;
+    private CompiledExpression compiled;
+    private BatchEvaluator scalar;
+    private BatchEvaluator vector;
+    private float[][] columns;
+    private float[] output;
+
+    @Setup
+    public void setUp() {
+        SymbolTable symbols = new SymbolTable();
+        expression = Expression.fromString(FORMULA);
+        compiled = CompiledExpression.compile(expression, symbols);
+        scalar = BatchEvaluator.of(compiled);
+        vector = BatchEvaluator.vectorized(compiled);
+        Random random = new Random(42);
+        columns = new float[symbols.size()][rows];
+        for (float[] column : columns) {
+            for (int i = 0; i < rows; i++) {
+                column[i] = random.nextInt(100) / 4.0f;
+            }
+        }
+        output = new float[rows];
+    }
+
+    @Benchmark
+    public float[] treeWalker() {
+        SymbolTable symbols = compiled.symbols();
+        Map<String, Float> variables = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            for (int slot = 0; slot < columns.length; slot++) {
+                variables.put(symbols.name(slot), columns[slot][i]);
+            }
+            output[i] = expression.eval(variables);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public float[] compiledPerRow() {
+        float[] frame = new float[columns.length];
+        for (int i = 0; i < rows; i++) {
+            for (int slot = 0; slot < columns.length; slot++) {
+                frame[slot] = columns[slot][i];
+            }
+            output[i] = compiled.eval(frame);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public float[] batchScalar() {
+        scalar.evaluate(columns, output);
+        return output;
+    }
+
+    @Benchmark
+    public float[] batchVector() {
+        vector.evaluate(columns, output);
+        return output;
+    }
+}
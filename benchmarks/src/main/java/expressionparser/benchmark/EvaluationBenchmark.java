@@ -0,0 +1,74 @@
+package expressionparser.benchmark;
+
+import expressionparser.model.Backend;
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.Expression;
+import expressionparser.model.SymbolTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({"shallow", "long", "mixed"})
+    private String shape;
+
+    private Expression expression;
+    private CompiledExpression tree;
+    private CompiledExpression postfix;
+    private CompiledExpression bytecode;
+    private Map<String, Float> variables;
+    private float[] frame;
+
+    @Setup
+    public void setUp() {
+        SymbolTable symbols = new SymbolTable();
+        expression = Expression.fromString(Inputs.of(shape));
+        tree = CompiledExpression.compile(expression, symbols, Backend.TREE);
+        postfix = CompiledExpression.compile(expression, symbols, Backend.POSTFIX);
+        bytecode = CompiledExpression.compile(expression, symbols, Backend.BYTECODE);
+        variables = new HashMap<>(Map.of("a", 3.0f, "b", 7.0f, "c", 2.0f));
+        frame = symbols.newFrame();
+        for (int slot = 0; slot < frame.length; slot++) {
+            frame[slot] = variables.get(symbols.name(slot));
+        }
+    }
+
+    @Benchmark
+    public float treeWalker() {
+        return expression.eval(variables);
+    }
+
+    @Benchmark
+    public float compiledTree() {
+        return tree.eval(frame);
+    }
+
+    @Benchmark
+    public float compiledPostfix() {
+        return postfix.eval(frame);
+    }
+
+    @Benchmark
+    public float compiledBytecode() {
+        return bytecode.eval(frame);
+    }
+}
@@ -0,0 +1,36 @@
+package expressionparser.benchmark;
+
+final class Inputs {
+    static final String SHALLOW = "a + b * 2 - c / 4";
+    static final String MIXED = "(a + b) * c > a * 2 ? a / c - b : (b - a <= c) + (a != b) * 3";
+
+    private Inputs() {
+    }
+
+    static String of(String shape) {
+        return switch (shape) {
+            case "shallow" -> SHALLOW;
+            case "deep" -> deep(200);
+            case "long" -> chain(1000);
+            case "mixed" -> MIXED;
+            default -> throw new IllegalArgumentException("Unknown input shape: " + shape);
+        };
+    }
+
+    static String deep(int depth) {
+        StringBuilder input = new StringBuilder();
+        input.append("(".repeat(depth)).append('a');
+        for (int i = 0; i < depth; i++) {
+            input.append(" + ").append(i % 10).append(')');
+        }
+        return input.toString();
+    }
+
+    static String chain(int terms) {
+        StringBuilder input = new StringBuilder("a");
+        for (int i = 1; i < terms; i++) {
+            input.append(i % 2 == 0 ? " + " : " * ").append(i % 3 == 0 ? "b" : String.valueOf(i % 7 + 1));
+        }
+        return input.toString();
+    }
+}
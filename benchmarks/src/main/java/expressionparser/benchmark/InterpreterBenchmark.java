@@ -0,0 +1,55 @@
+package expressionparser.benchmark;
+
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.Interpreter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpreterBenchmark {
+    private static final String ASSIGNMENT = "d = " + Inputs.SHALLOW;
+
+    private Interpreter interpreter;
+    private Interpreter cachedInterpreter;
+
+    @Setup
+    public void setUp() {
+        interpreter = new Interpreter();
+        cachedInterpreter = new Interpreter(new ExpressionCache(1024));
+        for (Interpreter target : new Interpreter[]{interpreter, cachedInterpreter}) {
+            target.execute("a = 3");
+            target.execute("b = 7");
+            target.execute("c = 2");
+        }
+    }
+
+    @Benchmark
+    public String execute() {
+        return interpreter.execute(Inputs.SHALLOW).value();
+    }
+
+    @Benchmark
+    public String executeAssignment() {
+        return interpreter.execute(ASSIGNMENT).value();
+    }
+
+    @Benchmark
+    public String executeCached() {
+        return cachedInterpreter.execute(Inputs.SHALLOW).value();
+    }
+}
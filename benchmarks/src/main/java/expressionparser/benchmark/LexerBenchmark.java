@@ -0,0 +1,45 @@
+package expressionparser.benchmark;
+
+import expressionparser.model.Lexer;
+import expressionparser.model.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+    @Param({"shallow", "deep", "long"})
+    private String shape;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        input = Inputs.of(shape);
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) {
+        Lexer lexer = new Lexer(input);
+        for (Token token = lexer.next(); token != Token.EOF; token = lexer.next()) {
+            blackhole.consume(token);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package expressionparser;
+
+import expressionparser.model.Interpreter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+public final class BulkRunner {
+    private static final long MAPPING_SIZE = 1L << 30;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final Interpreter interpreter;
+    private final long mappingSize;
+
+    public BulkRunner(Interpreter interpreter) {
+        this(interpreter, MAPPING_SIZE);
+    }
+
+    public BulkRunner(Interpreter interpreter, long mappingSize) {
+        if (mappingSize <= 0 || mappingSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Mapping size must be between 1 and " + Integer.MAX_VALUE + ": " + mappingSize);
+        }
+        this.interpreter = interpreter;
+        this.mappingSize = mappingSize;
+    }
+
+    public Summary run(Path input, Path output) throws IOException {
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return run(input, channel);
+        }
+    }
+
+    public Summary run(Path input, WritableByteChannel output) throws IOException {
+        long started = System.nanoTime();
+        ResultWriter writer = new ResultWriter(output);
+        Line line = new Line();
+        long lines = 0;
+        long failures = 0;
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(mappingSize, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int limit = position + length == size ? (int) length : lastLineEnd(buffer, (int) length);
+                int start = 0;
+                while (start < limit) {
+                    int end = lineEnd(buffer, start, limit);
+                    line.reset(buffer, start, end);
+                    if (!line.isBlank()) {
+                        Interpreter.Result result = interpreter.execute(line);
+                        writer.write(result.value());
+                        lines++;
+                        if (!result.succeeded()) {
+                            failures++;
+                        }
+                    }
+                    start = end + 1;
+                }
+                position += limit;
+            }
+        }
+        writer.flush();
+        return new Summary(lines, failures, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private static int lastLineEnd(ByteBuffer buffer, int length) throws IOException {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        throw new IOException("Line exceeds maximum length of " + length + " bytes");
+    }
+
+    private static int lineEnd(ByteBuffer buffer, int start, int limit) {
+        int end = start;
+        while (end < limit && buffer.get(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    public record Summary(long lines, long failures, Duration elapsed) {
+        public double linesPerSecond() {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return lines * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    private static final class Line implements CharSequence {
+        private ByteBuffer buffer;
+        private int offset;
+        private int length;
+        private String decoded;
+
+        private Line() {
+        }
+
+        private Line(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private void reset(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.offset = start;
+            this.length = end > start && buffer.get(end - 1) == '\r' ? end - start - 1 : end - start;
+            this.decoded = isAscii() ? null : decode(StandardCharsets.UTF_8);
+        }
+
+        private boolean isAscii() {
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(offset + i) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isBlank() {
+            for (int i = 0; i < length(); i++) {
+                if (!Character.isWhitespace(charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int length() {
+            return decoded == null ? length : decoded.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return decoded == null ? (char) buffer.get(offset + index) : decoded.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (decoded != null) {
+                return decoded.subSequence(start, end);
+            }
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length);
+            }
+            return new Line(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return decoded == null ? decode(StandardCharsets.US_ASCII) : decoded;
+        }
+
+        private String decode(Charset charset) {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return new String(bytes, charset);
+        }
+    }
+
+    private static final class ResultWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        private ResultWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        private void write(String value) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(value);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, true);
+                if (result.isUnderflow()) {
+                    break;
+                }
+                if (result.isError()) {
+                    result.throwException();
+                }
+                drain();
+            }
+            encoder.reset();
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) '\n');
+        }
+
+        private void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
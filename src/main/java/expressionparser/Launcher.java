@@ -1,12 +1,25 @@
 package expressionparser;
 
 import expressionparser.model.Interpreter;
+import expressionparser.server.EvaluationServer;
+import expressionparser.server.Protocol;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class Launcher {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--bulk")) {
+            runBulk(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            runServer(args);
+            return;
+        }
         try (Scanner scanner = new Scanner(System.in)) {
             Interpreter interpreter = new Interpreter();
             while (true) {
@@ -23,4 +36,33 @@ public class Launcher {
             }
         }
     }
+
+    private static void runBulk(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: --bulk <input file> [<output file>]");
+            System.exit(2);
+        }
+        BulkRunner runner = new BulkRunner(new Interpreter());
+        BulkRunner.Summary summary;
+        if (args.length == 3) {
+            summary = runner.run(Path.of(args[1]), Path.of(args[2]));
+        } else {
+            summary = runner.run(Path.of(args[1]), Channels.newChannel(System.out));
+            System.out.flush();
+        }
+        System.err.printf("Processed %d lines (%d failed) in %d ms: %.0f lines/s%n",
+                summary.lines(), summary.failures(), summary.elapsed().toMillis(), summary.linesPerSecond());
+    }
+
+    private static void runServer(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: --serve <port> [line|framed]");
+            System.exit(2);
+        }
+        Protocol protocol = args.length == 3 ? Protocol.valueOf(args[2].toUpperCase()) : Protocol.LINE;
+        try (EvaluationServer server = EvaluationServer.start(Integer.parseInt(args[1]), protocol)) {
+            System.err.printf("Serving %s protocol on port %d%n", protocol.name().toLowerCase(), server.port());
+            server.await();
+        }
+    }
 }
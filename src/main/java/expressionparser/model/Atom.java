@@ -14,30 +14,30 @@ public record Atom(String value) implements Expression {
     }
 
     @Override
-    public float eval(Map<String, Float> variables) {
+    public float eval(Map<String, Float> variables, FunctionRegistry functions) {
         if (isNumber()) {
             return resolveNumber();
         } else if (isVariable()) {
             return resolveVariable(variables);
         }
-        throw new ParserException(String.format("Invalid atom value '%s'", value));
+        throw new ParserException(ErrorCode.INVALID_ATOM, value);
     }
 
-    private boolean isNumber() {
+    boolean isNumber() {
         return NUMBER_PATTERN.matcher(value).matches();
     }
 
-    private float resolveNumber() {
+    float resolveNumber() {
         return Float.parseFloat(value);
     }
 
-    private boolean isVariable() {
+    boolean isVariable() {
         return VARIABLE_PATTERN.matcher(value).matches();
     }
 
     private float resolveVariable(Map<String, Float> variables) {
         if (!variables.containsKey(value)) {
-            throw new ParserException(String.format("Undefined variable '%s'", value));
+            throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, value);
         }
         return variables.get(value);
     }
@@ -0,0 +1,7 @@
+package expressionparser.model;
+
+public enum Backend {
+    TREE,
+    POSTFIX,
+    BYTECODE
+}
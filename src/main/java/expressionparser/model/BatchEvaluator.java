@@ -0,0 +1,198 @@
+package expressionparser.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+public final class BatchEvaluator {
+    private static final int CHUNK_SIZE = 1024;
+    private static final boolean VECTOR_SUPPORTED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final CompiledExpression expression;
+    private final ColumnKernels kernels;
+    private final boolean rowWise;
+    private final List<Step> steps;
+    private final Operand result;
+    private final float[][] registers;
+    private final float[][] constants;
+
+    private BatchEvaluator(CompiledExpression expression, ColumnKernels kernels) {
+        this.expression = expression;
+        this.kernels = kernels;
+        this.steps = new ArrayList<>();
+        PostfixCode code = expression.code();
+        this.rowWise = !isColumnar(code);
+        this.result = rowWise ? null : lower(code);
+        int registerCount = steps.stream().mapToInt(Step::target).max().orElse(-1) + 1;
+        this.registers = new float[registerCount][CHUNK_SIZE];
+        this.constants = new float[code.constants().length][CHUNK_SIZE];
+        for (int i = 0; i < constants.length; i++) {
+            Arrays.fill(constants[i], code.constants()[i]);
+        }
+    }
+
+    public static BatchEvaluator of(CompiledExpression expression) {
+        return new BatchEvaluator(expression, ScalarKernels.INSTANCE);
+    }
+
+    public static BatchEvaluator vectorized(CompiledExpression expression) {
+        return VECTOR_SUPPORTED ? new BatchEvaluator(expression, VectorKernels.INSTANCE) : of(expression);
+    }
+
+    public static boolean vectorSupported() {
+        return VECTOR_SUPPORTED;
+    }
+
+    public void evaluate(Map<String, float[]> columns, float[] output) {
+        SymbolTable symbols = expression.symbols();
+        float[][] slotColumns = new float[symbols.size()][];
+        for (int slot : expression.slots()) {
+            slotColumns[slot] = columns.get(symbols.name(slot));
+        }
+        evaluate(slotColumns, output);
+    }
+
+    public void evaluate(float[][] columns, float[] output) {
+        evaluate(columns, output, 0, output.length);
+    }
+
+    public void evaluate(float[][] columns, float[] output, int from, int to) {
+        validate(columns, to);
+        evaluateRange(columns, output, from, to);
+    }
+
+    void validate(float[][] columns, int rows) {
+        for (int slot : expression.requiredSlots()) {
+            if (slot >= columns.length || columns[slot] == null) {
+                throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, expression.symbols().name(slot));
+            }
+        }
+        for (int slot : expression.slots()) {
+            if (slot < columns.length && columns[slot] != null && columns[slot].length < rows) {
+                throw new IllegalArgumentException(String.format(
+                        "Column '%s' has %d rows, expected at least %d", expression.symbols().name(slot), columns[slot].length, rows));
+            }
+        }
+    }
+
+    void evaluateRange(float[][] columns, float[] output, int from, int to) {
+        if (rowWise) {
+            evaluateRows(columns, output, from, to);
+            return;
+        }
+        for (int start = from; start < to; start += CHUNK_SIZE) {
+            evaluateChunk(columns, output, start, Math.min(CHUNK_SIZE, to - start));
+        }
+    }
+
+    private void evaluateChunk(float[][] columns, float[] output, int start, int length) {
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            boolean last = i == steps.size() - 1;
+            float[] target = last ? output : registers[step.target()];
+            int targetOffset = last ? start : 0;
+            float[] left = source(step.left(), columns);
+            int leftOffset = offset(step.left(), start);
+            if (step.operator() == null) {
+                kernels.negate(left, leftOffset, target, targetOffset, length);
+            } else {
+                kernels.apply(step.operator(), left, leftOffset, source(step.right(), columns), offset(step.right(), start),
+                        target, targetOffset, length);
+            }
+        }
+        if (steps.isEmpty()) {
+            System.arraycopy(source(result, columns), offset(result, start), output, start, length);
+        }
+    }
+
+    private void evaluateRows(float[][] columns, float[] output, int from, int to) {
+        float[] frame = expression.symbols().newFrame();
+        int[] slots = expression.requiredSlots();
+        int[] lazySlots = expression.lazySlots();
+        PostfixCode code = expression.code();
+        PostfixCode.Scratch scratch = PostfixCode.Scratch.acquire();
+        try {
+            for (int row = from; row < to; row++) {
+                for (int slot : slots) {
+                    frame[slot] = columns[slot][row];
+                }
+                for (int slot : lazySlots) {
+                    frame[slot] = slot < columns.length && columns[slot] != null ? columns[slot][row] : PostfixCode.UNDEFINED;
+                }
+                output[row] = code.eval(frame, scratch);
+            }
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private float[] source(Operand operand, float[][] columns) {
+        return switch (operand.kind()) {
+            case REGISTER -> registers[operand.index()];
+            case CONSTANT -> constants[operand.index()];
+            case COLUMN -> columns[operand.index()];
+        };
+    }
+
+    private static int offset(Operand operand, int start) {
+        return operand.kind() == OperandKind.COLUMN ? start : 0;
+    }
+
+    private static boolean isColumnar(PostfixCode code) {
+        for (int instruction : code.code()) {
+            if (PostfixCode.opcode(instruction) > PostfixCode.STORE_TEMPORARY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Operand lower(PostfixCode code) {
+        Deque<Operand> stack = new ArrayDeque<>(code.maxStack());
+        for (int instruction : code.code()) {
+            int opcode = PostfixCode.opcode(instruction);
+            switch (opcode) {
+                case PostfixCode.LOAD_CONSTANT -> stack.push(new Operand(OperandKind.CONSTANT, PostfixCode.operand(instruction)));
+                case PostfixCode.LOAD_VARIABLE -> stack.push(new Operand(OperandKind.COLUMN, PostfixCode.operand(instruction)));
+                case PostfixCode.NEGATE -> {
+                    Operand operand = stack.pop();
+                    int register = stack.size();
+                    steps.add(new Step(null, operand, null, register));
+                    stack.push(new Operand(OperandKind.REGISTER, register));
+                }
+                case PostfixCode.LOAD_TEMPORARY ->
+                        stack.push(new Operand(OperandKind.REGISTER, code.maxStack() + PostfixCode.operand(instruction)));
+                case PostfixCode.STORE_TEMPORARY -> {
+                    int register = code.maxStack() + PostfixCode.operand(instruction);
+                    Step producer = steps.removeLast();
+                    steps.add(new Step(producer.operator(), producer.left(), producer.right(), register));
+                    stack.pop();
+                    stack.push(new Operand(OperandKind.REGISTER, register));
+                }
+                default -> {
+                    Operand right = stack.pop();
+                    Operand left = stack.pop();
+                    int register = stack.size();
+                    steps.add(new Step(PostfixCode.binaryOperator(opcode), left, right, register));
+                    stack.push(new Operand(OperandKind.REGISTER, register));
+                }
+            }
+        }
+        return stack.pop();
+    }
+
+    private enum OperandKind {
+        REGISTER,
+        CONSTANT,
+        COLUMN
+    }
+
+    private record Operand(OperandKind kind, int index) {
+    }
+
+    private record Step(Operator operator, Operand left, Operand right, int target) {
+    }
+}
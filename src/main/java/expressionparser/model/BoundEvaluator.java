@@ -0,0 +1,9 @@
+package expressionparser.model;
+
+abstract class BoundEvaluator implements Evaluator {
+    final Object[] functions;
+
+    BoundEvaluator(Object[] functions) {
+        this.functions = functions;
+    }
+}
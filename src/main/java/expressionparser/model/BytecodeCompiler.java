@@ -0,0 +1,529 @@
+package expressionparser.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class BytecodeCompiler {
+    private static final int CLASS_VERSION = 49;
+    private static final int MAX_CODE_LENGTH = 65535;
+    private static final int MAX_CONSTANT_POOL_SIZE = 65000;
+    private static final int MAX_LOCALS = 65535;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int FCONST_0 = 0x0b;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int FLOAD = 0x17;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int FALOAD = 0x30;
+    private static final int AALOAD = 0x32;
+    private static final int FSTORE = 0x38;
+    private static final int DASTORE = 0x52;
+    private static final int DUP = 0x59;
+    private static final int FADD = 0x62;
+    private static final int FSUB = 0x66;
+    private static final int FMUL = 0x6a;
+    private static final int FNEG = 0x76;
+    private static final int F2D = 0x8d;
+    private static final int D2F = 0x90;
+    private static final int FCMPL = 0x95;
+    private static final int FCMPG = 0x96;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int IFLT = 0x9b;
+    private static final int IFGE = 0x9c;
+    private static final int IFGT = 0x9d;
+    private static final int IFLE = 0x9e;
+    private static final int GOTO = 0xa7;
+    private static final int FRETURN = 0xae;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+    private static final int WIDE = 0xc4;
+
+    private static final int FIRST_TEMPORARY_LOCAL = 2;
+    private static final int FIRST_TEMPORARY_LOCAL_WITH_SCRATCH = 3;
+
+    private static final String CLASS_NAME = "expressionparser/model/GeneratedEvaluator";
+    private static final String SUPER_CLASS_NAME = "expressionparser/model/BoundEvaluator";
+    private static final String SCRATCH_SUPER_CLASS_NAME = "expressionparser/model/ScratchBoundEvaluator";
+    private static final String SCRATCH_CLASS_NAME = "expressionparser/model/PostfixCode$Scratch";
+    private static final String FUNCTIONS_DESCRIPTOR = "[Ljava/lang/Object;";
+
+    private final ConstantPool constantPool;
+    private final ByteArrayOutputStream code;
+    private final List<Jump> jumps = new ArrayList<>();
+    private final boolean usesScratch;
+    private final int firstTemporaryLocal;
+    private final int firstArgumentLocal;
+    private int stackDepth;
+    private int maxStack;
+    private int maxLocals;
+
+    private BytecodeCompiler(int temporaries, boolean usesScratch) {
+        this.constantPool = new ConstantPool();
+        this.code = new ByteArrayOutputStream();
+        this.usesScratch = usesScratch;
+        this.firstTemporaryLocal = usesScratch ? FIRST_TEMPORARY_LOCAL_WITH_SCRATCH : FIRST_TEMPORARY_LOCAL;
+        this.firstArgumentLocal = firstTemporaryLocal + temporaries;
+        this.maxLocals = firstTemporaryLocal;
+    }
+
+    static Evaluator compile(PostfixCode postfix) {
+        boolean usesScratch = Arrays.stream(postfix.calls()).anyMatch(call -> call.function() instanceof FunctionRegistry.Variadic);
+        BytecodeCompiler compiler = new BytecodeCompiler(postfix.temporaries(), usesScratch);
+        int[] instructions = postfix.code();
+        int[] offsets = new int[instructions.length + 1];
+        for (int pc = 0; pc < instructions.length; pc++) {
+            offsets[pc] = compiler.code.size();
+            compiler.emit(instructions[pc], postfix);
+        }
+        offsets[instructions.length] = compiler.code.size();
+        compiler.emitByte(FRETURN);
+        if (compiler.code.size() > MAX_CODE_LENGTH || compiler.constantPool.size() > MAX_CONSTANT_POOL_SIZE
+                || compiler.maxLocals > MAX_LOCALS) {
+            return postfix;
+        }
+        byte[] code = compiler.code.toByteArray();
+        for (Jump jump : compiler.jumps) {
+            int branch = offsets[jump.target()] - jump.offset();
+            if (branch > Short.MAX_VALUE) {
+                return postfix;
+            }
+            code[jump.offset() + 1] = (byte) (branch >>> 8);
+            code[jump.offset() + 2] = (byte) branch;
+        }
+        return define(compiler.toClassFile(code), functions(postfix.calls()));
+    }
+
+    private static Object[] functions(PostfixCode.CallSite[] calls) {
+        Object[] functions = new Object[calls.length];
+        for (int i = 0; i < calls.length; i++) {
+            functions[i] = switch (calls[i].function()) {
+                case FunctionRegistry.Unary unary -> unary.function();
+                case FunctionRegistry.Binary binary -> binary.function();
+                case FunctionRegistry.Variadic variadic -> variadic.function();
+            };
+        }
+        return functions;
+    }
+
+    private static Evaluator define(byte[] classFile, Object[] functions) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            return (Evaluator) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Object[].class))
+                    .invoke(functions);
+        } catch (Throwable exception) {
+            throw new ParserException(ErrorCode.COMPILATION_FAILED, exception.getMessage());
+        }
+    }
+
+    private void emit(int instruction, PostfixCode postfix) {
+        int opcode = PostfixCode.opcode(instruction);
+        switch (opcode) {
+            case PostfixCode.LOAD_CONSTANT -> emitConstant(postfix.constants()[PostfixCode.operand(instruction)]);
+            case PostfixCode.LOAD_VARIABLE -> emitLoadVariable(PostfixCode.operand(instruction));
+            case PostfixCode.LOAD_CHECKED_VARIABLE -> {
+                emitLoadVariable(PostfixCode.operand(instruction));
+                emitConstantPoolLoad(constantPool.stringConstant(postfix.name(PostfixCode.operand(instruction))));
+                push(1);
+                emitByte(INVOKESTATIC);
+                emitShort(constantPool.methodReference("expressionparser/model/PostfixCode", "checkDefined", "(FLjava/lang/String;)F"));
+                pop(1);
+            }
+            case PostfixCode.NEGATE -> emitByte(FNEG);
+            case PostfixCode.LOAD_TEMPORARY -> {
+                emitLocal(FLOAD, firstTemporaryLocal + PostfixCode.operand(instruction));
+                push(1);
+            }
+            case PostfixCode.STORE_TEMPORARY -> {
+                emitByte(DUP);
+                push(1);
+                emitLocal(FSTORE, firstTemporaryLocal + PostfixCode.operand(instruction));
+                pop(1);
+            }
+            case PostfixCode.NOT -> {
+                emitByte(FCONST_0);
+                push(1);
+                emitComparison(FCMPL, IFNE);
+                pop(1);
+            }
+            case PostfixCode.TRUTH -> {
+                emitByte(FCONST_0);
+                push(1);
+                emitComparison(FCMPL, IFEQ);
+                pop(1);
+            }
+            case PostfixCode.CALL -> emitCall(PostfixCode.operand(instruction), postfix.calls()[PostfixCode.operand(instruction)]);
+            case PostfixCode.JUMP -> {
+                emitJump(GOTO, PostfixCode.operand(instruction));
+                pop(1);
+            }
+            case PostfixCode.JUMP_IF_FALSE -> {
+                emitByte(FCONST_0);
+                push(1);
+                emitByte(FCMPL);
+                emitJump(IFEQ, PostfixCode.operand(instruction));
+                pop(2);
+            }
+            default -> emitBinary(PostfixCode.binaryOperator(opcode));
+        }
+    }
+
+    private void emitLoadVariable(int slot) {
+        emitByte(ALOAD_1);
+        push(1);
+        emitInt(slot);
+        emitByte(FALOAD);
+        pop(1);
+    }
+
+    private void emitCall(int index, PostfixCode.CallSite call) {
+        for (int i = call.arguments() - 1; i >= 0; i--) {
+            emitLocal(FSTORE, firstArgumentLocal + i);
+            pop(1);
+        }
+        emitByte(ALOAD_0);
+        push(1);
+        emitByte(GETFIELD);
+        emitShort(constantPool.fieldReference(SUPER_CLASS_NAME, "functions", FUNCTIONS_DESCRIPTOR));
+        emitInt(index);
+        emitByte(AALOAD);
+        pop(1);
+        switch (call.function()) {
+            case FunctionRegistry.Unary ignored -> emitInterfaceCall("java/util/function/DoubleUnaryOperator", "applyAsDouble", "(D)D", 1);
+            case FunctionRegistry.Binary ignored -> emitInterfaceCall("java/util/function/DoubleBinaryOperator", "applyAsDouble", "(DD)D", 2);
+            case FunctionRegistry.Variadic ignored -> {
+                emitCast("expressionparser/model/FunctionRegistry$VariadicFunction");
+                emitByte(ALOAD_2);
+                push(1);
+                emitInt(call.arguments());
+                emitByte(INVOKEVIRTUAL);
+                emitShort(constantPool.methodReference(SCRATCH_CLASS_NAME, "arguments", "(I)[D"));
+                pop(1);
+                for (int i = 0; i < call.arguments(); i++) {
+                    emitByte(DUP);
+                    push(1);
+                    emitInt(i);
+                    emitLocal(FLOAD, firstArgumentLocal + i);
+                    emitByte(F2D);
+                    push(2);
+                    emitByte(DASTORE);
+                    pop(4);
+                }
+                emitInvokeInterface("expressionparser/model/FunctionRegistry$VariadicFunction", "apply", "([D)D", 1);
+            }
+        }
+        emitByte(D2F);
+        pop(1);
+    }
+
+    private void emitInterfaceCall(String owner, String name, String descriptor, int arguments) {
+        emitCast(owner);
+        for (int i = 0; i < arguments; i++) {
+            emitLocal(FLOAD, firstArgumentLocal + i);
+            emitByte(F2D);
+            push(2);
+        }
+        emitInvokeInterface(owner, name, descriptor, 2 * arguments);
+    }
+
+    private void emitCast(String type) {
+        emitByte(CHECKCAST);
+        emitShort(constantPool.classReference(type));
+    }
+
+    private void emitInvokeInterface(String owner, String name, String descriptor, int argumentSlots) {
+        emitByte(INVOKEINTERFACE);
+        emitShort(constantPool.interfaceMethodReference(owner, name, descriptor));
+        emitByte(argumentSlots + 1);
+        emitByte(0);
+        pop(argumentSlots + 1);
+        push(2);
+    }
+
+    private void emitConstant(float value) {
+        if (Float.floatToRawIntBits(value) == 0 || value == 1.0f || value == 2.0f) {
+            emitByte(FCONST_0 + (int) value);
+        } else {
+            emitConstantPoolLoad(constantPool.floatConstant(value));
+        }
+        push(1);
+    }
+
+    private void emitInt(int value) {
+        if (value <= 5) {
+            emitByte(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            emitByte(BIPUSH);
+            emitByte(value);
+        } else if (value <= Short.MAX_VALUE) {
+            emitByte(SIPUSH);
+            emitShort(value);
+        } else {
+            emitConstantPoolLoad(constantPool.integerConstant(value));
+        }
+        push(1);
+    }
+
+    private void emitLocal(int instruction, int local) {
+        if (local <= 0xff) {
+            emitByte(instruction);
+            emitByte(local);
+        } else {
+            emitByte(WIDE);
+            emitByte(instruction);
+            emitShort(local);
+        }
+        maxLocals = Math.max(maxLocals, local + 1);
+    }
+
+    private void emitConstantPoolLoad(int index) {
+        if (index <= 0xff) {
+            emitByte(LDC);
+            emitByte(index);
+        } else {
+            emitByte(LDC_W);
+            emitShort(index);
+        }
+    }
+
+    private void emitBinary(Operator operator) {
+        switch (operator) {
+            case ADD -> emitByte(FADD);
+            case SUBTRACT -> emitByte(FSUB);
+            case MULTIPLY -> emitByte(FMUL);
+            case DIVIDE -> {
+                emitByte(INVOKESTATIC);
+                emitShort(constantPool.methodReference("expressionparser/model/Operator", "divide", "(FF)F"));
+            }
+            case EQUAL -> emitComparison(FCMPL, IFNE);
+            case NOT_EQUAL -> emitComparison(FCMPL, IFEQ);
+            case LESS -> emitComparison(FCMPG, IFGE);
+            case GREATER -> emitComparison(FCMPL, IFLE);
+            case LESS_OR_EQUAL -> emitComparison(FCMPG, IFGT);
+            case GREATER_OR_EQUAL -> emitComparison(FCMPL, IFLT);
+        }
+        pop(1);
+    }
+
+    private void emitComparison(int compareInstruction, int jumpWhenFalse) {
+        emitByte(compareInstruction);
+        emitByte(jumpWhenFalse);
+        emitShort(7);
+        emitByte(FCONST_0 + 1);
+        emitByte(GOTO);
+        emitShort(4);
+        emitByte(FCONST_0);
+    }
+
+    private void emitJump(int instruction, int target) {
+        jumps.add(new Jump(code.size(), target));
+        emitByte(instruction);
+        emitShort(0);
+    }
+
+    private void push(int slots) {
+        stackDepth += slots;
+        maxStack = Math.max(maxStack, stackDepth);
+    }
+
+    private void pop(int slots) {
+        stackDepth -= slots;
+    }
+
+    private void emitByte(int value) {
+        code.write(value);
+    }
+
+    private void emitShort(int value) {
+        code.write(value >>> 8);
+        code.write(value);
+    }
+
+    private byte[] toClassFile(byte[] evalCode) {
+        int thisClass = constantPool.classReference(CLASS_NAME);
+        String superClassName = usesScratch ? SCRATCH_SUPER_CLASS_NAME : SUPER_CLASS_NAME;
+        int superClass = constantPool.classReference(superClassName);
+        int evaluatorInterface = constantPool.classReference("expressionparser/model/Evaluator");
+        int superConstructor = constantPool.methodReference(superClassName, "<init>", "(" + FUNCTIONS_DESCRIPTOR + ")V");
+        int constructorName = constantPool.utf8("<init>");
+        int constructorDescriptor = constantPool.utf8("(" + FUNCTIONS_DESCRIPTOR + ")V");
+        int evalName = constantPool.utf8("eval");
+        int evalDescriptor = constantPool.utf8(usesScratch ? "([FL" + SCRATCH_CLASS_NAME + ";)F" : "([F)F");
+        int codeAttribute = constantPool.utf8("Code");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(0xCAFEBABE);
+            output.writeShort(0);
+            output.writeShort(CLASS_VERSION);
+            constantPool.writeTo(output);
+            output.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            output.writeShort(thisClass);
+            output.writeShort(superClass);
+            output.writeShort(1);
+            output.writeShort(evaluatorInterface);
+            output.writeShort(0);
+            output.writeShort(2);
+
+            byte[] constructorCode = {ALOAD_0, ALOAD_1, (byte) INVOKESPECIAL, (byte) (superConstructor >>> 8), (byte) superConstructor, (byte) RETURN};
+            writeMethod(output, ACC_PUBLIC, constructorName, constructorDescriptor, codeAttribute, 2, 2, constructorCode);
+            writeMethod(output, ACC_PUBLIC | ACC_FINAL, evalName, evalDescriptor, codeAttribute, maxStack, maxLocals, evalCode);
+
+            output.writeShort(0);
+        } catch (IOException exception) {
+            throw new ParserException(ErrorCode.COMPILATION_FAILED, exception.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeMethod(DataOutputStream output, int access, int name, int descriptor, int codeAttribute,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        output.writeShort(access);
+        output.writeShort(name);
+        output.writeShort(descriptor);
+        output.writeShort(1);
+        output.writeShort(codeAttribute);
+        output.writeInt(12 + code.length);
+        output.writeShort(maxStack);
+        output.writeShort(maxLocals);
+        output.writeInt(code.length);
+        output.write(code);
+        output.writeShort(0);
+        output.writeShort(0);
+    }
+
+    private record Jump(int offset, int target) {
+    }
+
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int INTEGER = 3;
+        private static final int FLOAT = 4;
+        private static final int CLASS = 7;
+        private static final int STRING = 8;
+        private static final int FIELD_REFERENCE = 9;
+        private static final int METHOD_REFERENCE = 10;
+        private static final int INTERFACE_METHOD_REFERENCE = 11;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(entries);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int size() {
+            return count;
+        }
+
+        int utf8(String value) {
+            return entry("utf8:" + value, () -> {
+                output.writeByte(UTF8);
+                output.writeUTF(value);
+            });
+        }
+
+        int integerConstant(int value) {
+            return entry("int:" + value, () -> {
+                output.writeByte(INTEGER);
+                output.writeInt(value);
+            });
+        }
+
+        int floatConstant(float value) {
+            int bits = Float.floatToRawIntBits(value);
+            return entry("float:" + bits, () -> {
+                output.writeByte(FLOAT);
+                output.writeInt(bits);
+            });
+        }
+
+        int stringConstant(String value) {
+            int valueIndex = utf8(value);
+            return entry("string:" + value, () -> {
+                output.writeByte(STRING);
+                output.writeShort(valueIndex);
+            });
+        }
+
+        int classReference(String name) {
+            int nameIndex = utf8(name);
+            return entry("class:" + name, () -> {
+                output.writeByte(CLASS);
+                output.writeShort(nameIndex);
+            });
+        }
+
+        int methodReference(String owner, String name, String descriptor) {
+            return memberReference(METHOD_REFERENCE, owner, name, descriptor);
+        }
+
+        int interfaceMethodReference(String owner, String name, String descriptor) {
+            return memberReference(INTERFACE_METHOD_REFERENCE, owner, name, descriptor);
+        }
+
+        int fieldReference(String owner, String name, String descriptor) {
+            return memberReference(FIELD_REFERENCE, owner, name, descriptor);
+        }
+
+        private int memberReference(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classReference(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("nameAndType:" + name + descriptor, () -> {
+                output.writeByte(NAME_AND_TYPE);
+                output.writeShort(nameIndex);
+                output.writeShort(descriptorIndex);
+            });
+            return entry("member:" + tag + ":" + owner + "." + name + descriptor, () -> {
+                output.writeByte(tag);
+                output.writeShort(ownerIndex);
+                output.writeShort(nameAndType);
+            });
+        }
+
+        void writeTo(DataOutputStream classFile) throws IOException {
+            classFile.writeShort(count);
+            classFile.write(entries.toByteArray());
+        }
+
+        private int entry(String key, EntryWriter writer) {
+            Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                writer.write();
+            } catch (IOException exception) {
+                throw new ParserException(ErrorCode.COMPILATION_FAILED, exception.getMessage());
+            }
+            indexes.put(key, count);
+            return count++;
+        }
+
+        private interface EntryWriter {
+            void write() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package expressionparser.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+record Call(String function, List<Expression> arguments) implements Expression {
+    @Override
+    public Optional<Assignment> assignment() {
+        return Optional.empty();
+    }
+
+    @Override
+    public float eval(Map<String, Float> variables, FunctionRegistry functions) {
+        FunctionRegistry.Definition definition = functions.resolve(function, arguments.size());
+        double[] values = new double[arguments.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = arguments.get(i).eval(variables, functions);
+        }
+        return (float) definition.invoke(values);
+    }
+}
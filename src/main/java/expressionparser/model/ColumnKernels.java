@@ -0,0 +1,8 @@
+package expressionparser.model;
+
+interface ColumnKernels {
+    void negate(float[] operand, int operandOffset, float[] output, int outputOffset, int length);
+
+    void apply(Operator operator, float[] left, int leftOffset, float[] right, int rightOffset,
+               float[] output, int outputOffset, int length);
+}
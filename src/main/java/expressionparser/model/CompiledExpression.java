@@ -0,0 +1,451 @@
+package expressionparser.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+public final class CompiledExpression {
+    private static final int NO_TARGET = -1;
+    private static final int MAX_TREE_DEPTH = 512;
+
+    private final SymbolTable symbols;
+    private final int target;
+    private final int[] slots;
+    private final int[] requiredSlots;
+    private final int[] lazySlots;
+    private final int frameSize;
+    private final PostfixCode code;
+    private final Evaluator evaluator;
+
+    private CompiledExpression(SymbolTable symbols, int target, int[] slots, PostfixCode code, Evaluator evaluator) {
+        this.symbols = symbols;
+        this.target = target;
+        this.slots = slots;
+        this.lazySlots = code.lazySlots();
+        BitSet lazy = new BitSet();
+        Arrays.stream(lazySlots).forEach(lazy::set);
+        this.requiredSlots = Arrays.stream(slots).filter(slot -> !lazy.get(slot)).toArray();
+        this.frameSize = Arrays.stream(slots).max().orElse(-1) + 1;
+        this.code = code;
+        this.evaluator = evaluator;
+    }
+
+    public static CompiledExpression fromString(String input) {
+        return compile(Expression.fromString(input));
+    }
+
+    public static CompiledExpression compile(Expression expression) {
+        return compile(expression, new SymbolTable());
+    }
+
+    public static CompiledExpression compile(Expression expression, SymbolTable symbols) {
+        return compile(expression, symbols, Backend.TREE);
+    }
+
+    public static CompiledExpression compile(Expression expression, SymbolTable symbols, Backend backend) {
+        Optional<Assignment> assignment = expression.assignment();
+        Expression valueExpression = assignment.map(Assignment::expression).orElse(expression);
+        Set<Integer> slots = new LinkedHashSet<>();
+        PostfixCode code = PostfixCode.compile(Optimizer.optimize(valueExpression, symbols.functions()), symbols, slots);
+        Evaluator evaluator = switch (backend) {
+            case TREE -> toTree(code).orElse(code);
+            case POSTFIX -> code;
+            case BYTECODE -> BytecodeCompiler.compile(code);
+        };
+        int target = assignment.map(value -> symbols.slotOf(value.variable())).orElse(NO_TARGET);
+        return new CompiledExpression(symbols, target, slots.stream().mapToInt(Integer::intValue).toArray(), code, evaluator);
+    }
+
+    private static Optional<Evaluator> toTree(PostfixCode code) {
+        TreeStack stack = new TreeStack(code.maxStack());
+        Deque<Branch> branches = new ArrayDeque<>();
+        int[] instructions = code.code();
+        int scratchSize = code.temporaries();
+        boolean usesScratch = scratchSize > 0;
+        for (int pc = 0; pc < instructions.length; pc++) {
+            completeBranches(branches, stack, pc);
+            int instruction = instructions[pc];
+            int opcode = PostfixCode.opcode(instruction);
+            switch (opcode) {
+                case PostfixCode.LOAD_CONSTANT -> stack.push(new Constant(code.constants()[PostfixCode.operand(instruction)]), 1);
+                case PostfixCode.LOAD_VARIABLE -> stack.push(new Variable(PostfixCode.operand(instruction)), 1);
+                case PostfixCode.LOAD_CHECKED_VARIABLE -> stack.push(
+                        new CheckedVariable(PostfixCode.operand(instruction), code.name(PostfixCode.operand(instruction))), 1);
+                case PostfixCode.NEGATE -> {
+                    int depth = stack.depth();
+                    stack.push(new Negation(stack.pop()), depth + 1);
+                }
+                case PostfixCode.NOT -> {
+                    int depth = stack.depth();
+                    stack.push(new Not(stack.pop()), depth + 1);
+                }
+                case PostfixCode.TRUTH -> {
+                    int depth = stack.depth();
+                    stack.push(new Truth(stack.pop()), depth + 1);
+                }
+                case PostfixCode.LOAD_TEMPORARY -> stack.push(new Load(PostfixCode.operand(instruction)), 1);
+                case PostfixCode.STORE_TEMPORARY -> {
+                    int depth = stack.depth();
+                    stack.push(new Store(PostfixCode.operand(instruction), stack.pop()), depth + 1);
+                }
+                case PostfixCode.JUMP_IF_FALSE -> {
+                    int depth = stack.depth();
+                    branches.push(new Branch(stack.pop(), null, depth, -1));
+                }
+                case PostfixCode.CALL -> {
+                    PostfixCode.CallSite call = code.calls()[PostfixCode.operand(instruction)];
+                    toCall(call, stack, scratchSize);
+                    if (call.function() instanceof FunctionRegistry.Variadic) {
+                        scratchSize += call.arguments();
+                        usesScratch = true;
+                    }
+                }
+                case PostfixCode.JUMP -> {
+                    Branch condition = branches.pop();
+                    int depth = Math.max(condition.depth(), stack.depth());
+                    branches.push(new Branch(condition.condition(), stack.pop(), depth, PostfixCode.operand(instruction)));
+                }
+                default -> {
+                    int depth = Math.max(stack.depth(), stack.depthBelow());
+                    Node right = stack.pop();
+                    Node left = stack.pop();
+                    stack.push(toBinary(PostfixCode.binaryOperator(opcode), left, right), depth + 1);
+                }
+            }
+            if (stack.maxDepth > MAX_TREE_DEPTH) {
+                return Optional.empty();
+            }
+        }
+        completeBranches(branches, stack, instructions.length);
+        if (stack.maxDepth > MAX_TREE_DEPTH || scratchSize > PostfixCode.Scratch.MAX_RETAINED) {
+            return Optional.empty();
+        }
+        Node body = stack.pop();
+        return Optional.of(usesScratch ? new Root(body, scratchSize) : body);
+    }
+
+    private static Node toBinary(Operator operator, Node left, Node right) {
+        return switch (operator) {
+            case ADD -> new Add(left, right);
+            case SUBTRACT -> new Subtract(left, right);
+            case MULTIPLY -> new Multiply(left, right);
+            case DIVIDE -> new Divide(left, right);
+            case EQUAL -> new Equal(left, right);
+            case NOT_EQUAL -> new NotEqual(left, right);
+            case LESS -> new Less(left, right);
+            case GREATER -> new Greater(left, right);
+            case LESS_OR_EQUAL -> new LessOrEqual(left, right);
+            case GREATER_OR_EQUAL -> new GreaterOrEqual(left, right);
+        };
+    }
+
+    private static void toCall(PostfixCode.CallSite call, TreeStack stack, int scratchOffset) {
+        Node[] arguments = new Node[call.arguments()];
+        int depth = 0;
+        for (int i = arguments.length - 1; i >= 0; i--) {
+            depth = Math.max(depth, stack.depth());
+            arguments[i] = stack.pop();
+        }
+        Node node = switch (call.function()) {
+            case FunctionRegistry.Unary unary -> new UnaryCall(unary.function(), arguments[0]);
+            case FunctionRegistry.Binary binary -> new BinaryCall(binary.function(), arguments[0], arguments[1]);
+            case FunctionRegistry.Variadic variadic -> new VariadicCall(variadic.function(), arguments, scratchOffset);
+        };
+        stack.push(node, depth + 1);
+    }
+
+    private static void completeBranches(Deque<Branch> branches, TreeStack stack, int pc) {
+        while (!branches.isEmpty() && branches.peek().end() == pc) {
+            Branch branch = branches.pop();
+            int depth = Math.max(branch.depth(), stack.depth());
+            stack.push(new Conditional(branch.condition(), branch.then(), stack.pop()), depth + 1);
+        }
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    public Optional<String> target() {
+        return target == NO_TARGET ? Optional.empty() : Optional.of(symbols.name(target));
+    }
+
+    public List<String> variables() {
+        return Arrays.stream(slots).mapToObj(symbols::name).toList();
+    }
+
+    int targetSlot() {
+        return target;
+    }
+
+    int[] slots() {
+        return slots;
+    }
+
+    int[] requiredSlots() {
+        return requiredSlots;
+    }
+
+    int[] lazySlots() {
+        return lazySlots;
+    }
+
+    int frameSize() {
+        return frameSize;
+    }
+
+    PostfixCode code() {
+        return code;
+    }
+
+    public float eval(float... frame) {
+        return evaluator.eval(frame);
+    }
+
+    public float eval(Scope scope) {
+        return evaluator.eval(scope.frameFor(requiredSlots, lazySlots, frameSize));
+    }
+
+    public float eval(Map<String, Float> values) {
+        float[] frame = new float[frameSize];
+        for (int slot : requiredSlots) {
+            Float value = values.get(symbols.name(slot));
+            if (value == null) {
+                throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+            }
+            frame[slot] = value;
+        }
+        for (int slot : lazySlots) {
+            frame[slot] = values.getOrDefault(symbols.name(slot), PostfixCode.UNDEFINED);
+        }
+        return evaluator.eval(frame);
+    }
+
+    private interface Node extends Evaluator {
+        float eval(float[] frame, PostfixCode.Scratch scratch);
+
+        @Override
+        default float eval(float[] frame) {
+            return eval(frame, null);
+        }
+    }
+
+    private record Root(Node body, int scratchSize) implements Evaluator {
+        @Override
+        public float eval(float[] frame) {
+            PostfixCode.Scratch scratch = PostfixCode.Scratch.acquire();
+            try {
+                scratch.floats(scratchSize);
+                return body.eval(frame, scratch);
+            } finally {
+                scratch.release();
+            }
+        }
+    }
+
+    private record Constant(float value) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return value;
+        }
+    }
+
+    private record Variable(int slot) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return frame[slot];
+        }
+    }
+
+    private record CheckedVariable(int slot, String name) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return PostfixCode.checkDefined(frame[slot], name);
+        }
+    }
+
+    private record Store(int index, Node value) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return scratch.store(index, value.eval(frame, scratch));
+        }
+    }
+
+    private record Load(int index) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return scratch.load(index);
+        }
+    }
+
+    private record Negation(Node operand) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return -operand.eval(frame, scratch);
+        }
+    }
+
+    private record Add(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) + right.eval(frame, scratch);
+        }
+    }
+
+    private record Subtract(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) - right.eval(frame, scratch);
+        }
+    }
+
+    private record Multiply(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) * right.eval(frame, scratch);
+        }
+    }
+
+    private record Divide(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return Operator.divide(left.eval(frame, scratch), right.eval(frame, scratch));
+        }
+    }
+
+    private record Equal(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) == right.eval(frame, scratch) ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record NotEqual(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) != right.eval(frame, scratch) ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record Less(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) < right.eval(frame, scratch) ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record Greater(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) > right.eval(frame, scratch) ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record LessOrEqual(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) <= right.eval(frame, scratch) ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record GreaterOrEqual(Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return left.eval(frame, scratch) >= right.eval(frame, scratch) ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record Not(Node operand) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return operand.eval(frame, scratch) == 0 ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record Truth(Node operand) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return operand.eval(frame, scratch) != 0 ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private record Conditional(Node condition, Node then, Node otherwise) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return condition.eval(frame, scratch) != 0 ? then.eval(frame, scratch) : otherwise.eval(frame, scratch);
+        }
+    }
+
+    private record UnaryCall(DoubleUnaryOperator function, Node argument) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return (float) function.applyAsDouble(argument.eval(frame, scratch));
+        }
+    }
+
+    private record BinaryCall(DoubleBinaryOperator function, Node left, Node right) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            return (float) function.applyAsDouble(left.eval(frame, scratch), right.eval(frame, scratch));
+        }
+    }
+
+    private record VariadicCall(FunctionRegistry.VariadicFunction function, Node[] arguments, int offset) implements Node {
+        @Override
+        public float eval(float[] frame, PostfixCode.Scratch scratch) {
+            for (int i = 0; i < arguments.length; i++) {
+                scratch.store(offset + i, arguments[i].eval(frame, scratch));
+            }
+            double[] values = scratch.arguments(arguments.length);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = scratch.load(offset + i);
+            }
+            return (float) function.apply(values);
+        }
+    }
+
+    private record Branch(Node condition, Node then, int depth, int end) {
+    }
+
+    private static final class TreeStack {
+        private final Node[] nodes;
+        private final int[] depths;
+        private int top = -1;
+        private int maxDepth;
+
+        private TreeStack(int capacity) {
+            this.nodes = new Node[Math.max(1, capacity)];
+            this.depths = new int[nodes.length];
+        }
+
+        private void push(Node node, int depth) {
+            nodes[++top] = node;
+            depths[top] = depth;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private Node pop() {
+            return nodes[top--];
+        }
+
+        private Node peek() {
+            return nodes[top];
+        }
+
+        private int depth() {
+            return depths[top];
+        }
+
+        private int depthBelow() {
+            return depths[top - 1];
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package expressionparser.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public final class DoubleExpression {
+    private static final int NO_TARGET = -1;
+    private static final double TRUE_VALUE = 1.0;
+    private static final double FALSE_VALUE = 0.0;
+
+    private final SymbolTable symbols;
+    private final int target;
+    private final int[] slots;
+    private final int[] lazySlots;
+    private final int frameSize;
+    private final int[] code;
+    private final double[] constants;
+    private final PostfixCode.CallSite[] calls;
+    private final int maxStack;
+    private final int temporaries;
+
+    private DoubleExpression(SymbolTable symbols, int target, int[] slots, PostfixCode.Lowering lowering, double[] constants) {
+        this.symbols = symbols;
+        this.target = target;
+        this.slots = slots;
+        this.lazySlots = lowering.lazySlots();
+        this.frameSize = Arrays.stream(slots).max().orElse(-1) + 1;
+        this.code = lowering.code();
+        this.constants = constants;
+        this.calls = lowering.calls();
+        this.maxStack = lowering.maxStack();
+        this.temporaries = lowering.temporaries();
+    }
+
+    public static DoubleExpression fromString(String input) {
+        return compile(Expression.fromString(input));
+    }
+
+    public static DoubleExpression compile(Expression expression) {
+        return compile(expression, new SymbolTable());
+    }
+
+    public static DoubleExpression compile(Expression expression, SymbolTable symbols) {
+        Optional<Assignment> assignment = expression.assignment();
+        Expression valueExpression = assignment.map(Assignment::expression).orElse(expression);
+        Set<Integer> slots = new LinkedHashSet<>();
+        DoubleConstants constants = new DoubleConstants();
+        PostfixCode.Lowering lowering = PostfixCode.lower(Optimizer.optimizeWithoutFolding(valueExpression, symbols.functions()), symbols, slots, constants);
+        int target = assignment.map(value -> symbols.slotOf(value.variable())).orElse(NO_TARGET);
+        return new DoubleExpression(symbols, target, slots.stream().mapToInt(Integer::intValue).toArray(), lowering, constants.values());
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    public Optional<String> target() {
+        return target == NO_TARGET ? Optional.empty() : Optional.of(symbols.name(target));
+    }
+
+    public List<String> variables() {
+        return Arrays.stream(slots).mapToObj(symbols::name).toList();
+    }
+
+    public double eval(Map<String, Double> values) {
+        double[] frame = new double[frameSize];
+        boolean[] missing = null;
+        for (int slot : slots) {
+            Double value = values.get(symbols.name(slot));
+            if (value != null) {
+                frame[slot] = value;
+            } else if (isLazy(slot)) {
+                missing = markMissing(missing, frame.length, slot);
+            } else {
+                throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+            }
+        }
+        return eval(frame, missing);
+    }
+
+    public double eval(double... frame) {
+        return eval(frame, null);
+    }
+
+    private double eval(double[] frame, boolean[] missing) {
+        PostfixCode.Scratch scratch = PostfixCode.Scratch.acquire();
+        try {
+            return run(frame, missing, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private boolean isLazy(int slot) {
+        for (int lazy : lazySlots) {
+            if (lazy == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean[] markMissing(boolean[] missing, int size, int slot) {
+        boolean[] marked = missing == null ? new boolean[size] : missing;
+        marked[slot] = true;
+        return marked;
+    }
+
+    private double run(double[] frame, boolean[] missing, PostfixCode.Scratch scratch) {
+        double[] stack = scratch.doubles(maxStack + temporaries);
+        int top = -1;
+        for (int pc = 0; pc < code.length; pc++) {
+            int instruction = code[pc];
+            switch (PostfixCode.opcode(instruction)) {
+                case PostfixCode.LOAD_CONSTANT -> stack[++top] = constants[PostfixCode.operand(instruction)];
+                case PostfixCode.LOAD_VARIABLE -> stack[++top] = frame[PostfixCode.operand(instruction)];
+                case PostfixCode.LOAD_CHECKED_VARIABLE -> {
+                    int slot = PostfixCode.operand(instruction);
+                    if (missing != null && missing[slot]) {
+                        throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+                    }
+                    stack[++top] = frame[slot];
+                }
+                case PostfixCode.LOAD_TEMPORARY -> stack[++top] = stack[maxStack + PostfixCode.operand(instruction)];
+                case PostfixCode.STORE_TEMPORARY -> stack[maxStack + PostfixCode.operand(instruction)] = stack[top];
+                case PostfixCode.NEGATE -> stack[top] = -stack[top];
+                case PostfixCode.ADD -> {
+                    top--;
+                    stack[top] = stack[top] + stack[top + 1];
+                }
+                case PostfixCode.SUBTRACT -> {
+                    top--;
+                    stack[top] = stack[top] - stack[top + 1];
+                }
+                case PostfixCode.MULTIPLY -> {
+                    top--;
+                    stack[top] = stack[top] * stack[top + 1];
+                }
+                case PostfixCode.DIVIDE -> {
+                    top--;
+                    if (stack[top + 1] == 0) {
+                        throw Operator.DIVISION_BY_ZERO;
+                    }
+                    stack[top] = stack[top] / stack[top + 1];
+                }
+                case PostfixCode.EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] == stack[top + 1] ? TRUE_VALUE : FALSE_VALUE;
+                }
+                case PostfixCode.NOT_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] != stack[top + 1] ? TRUE_VALUE : FALSE_VALUE;
+                }
+                case PostfixCode.LESS -> {
+                    top--;
+                    stack[top] = stack[top] < stack[top + 1] ? TRUE_VALUE : FALSE_VALUE;
+                }
+                case PostfixCode.GREATER -> {
+                    top--;
+                    stack[top] = stack[top] > stack[top + 1] ? TRUE_VALUE : FALSE_VALUE;
+                }
+                case PostfixCode.LESS_OR_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] <= stack[top + 1] ? TRUE_VALUE : FALSE_VALUE;
+                }
+                case PostfixCode.GREATER_OR_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] >= stack[top + 1] ? TRUE_VALUE : FALSE_VALUE;
+                }
+                case PostfixCode.NOT -> stack[top] = stack[top] == 0 ? TRUE_VALUE : FALSE_VALUE;
+                case PostfixCode.TRUTH -> stack[top] = stack[top] != 0 ? TRUE_VALUE : FALSE_VALUE;
+                case PostfixCode.JUMP -> pc = PostfixCode.operand(instruction) - 1;
+                case PostfixCode.JUMP_IF_FALSE -> {
+                    if (stack[top--] == 0) {
+                        pc = PostfixCode.operand(instruction) - 1;
+                    }
+                }
+                case PostfixCode.CALL -> {
+                    PostfixCode.CallSite call = calls[PostfixCode.operand(instruction)];
+                    top -= call.arguments() - 1;
+                    stack[top] = call.invoke(stack, top, scratch);
+                }
+                default -> throw new ParserException(ErrorCode.INVALID_INSTRUCTION, instruction);
+            }
+        }
+        return stack[0];
+    }
+
+    private static final class DoubleConstants implements PostfixCode.ConstantPool {
+        private final Map<Long, Integer> indexes = new HashMap<>();
+        private double[] values = new double[4];
+        private int count;
+
+        @Override
+        public int indexOf(String literal) {
+            double value = Double.parseDouble(literal);
+            return indexes.computeIfAbsent(Double.doubleToRawLongBits(value), bits -> {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count] = value;
+                return count++;
+            });
+        }
+
+        private double[] values() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+}
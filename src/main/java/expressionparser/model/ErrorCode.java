@@ -0,0 +1,45 @@
+package expressionparser.model;
+
+public enum ErrorCode {
+    GENERIC("%s"),
+    INVALID_START("Invalid start of expression: %s"),
+    EXPECTED_OPERATOR("Expected operator, but found: %s"),
+    UNKNOWN_OPERATOR("Unknown operator: '%s'"),
+    UNEXPECTED_CLOSING_PARENTHESIS("Unexpected ')'"),
+    MISSING_CLOSING_PARENTHESIS("Expected ')', but reached end of input"),
+    UNEXPECTED_CONDITIONAL_SEPARATOR("Unexpected ':' without matching '?'"),
+    MISSING_CONDITIONAL_SEPARATOR("Expected ':' to complete conditional expression"),
+    UNEXPECTED_ARGUMENT_SEPARATOR("Unexpected ',' outside of function arguments"),
+    MAXIMUM_LENGTH_EXCEEDED("Expression exceeds maximum length of %d characters"),
+    MAXIMUM_DEPTH_EXCEEDED("Expression exceeds maximum depth of %d"),
+    INVALID_ATOM("Invalid atom value '%s'"),
+    UNKNOWN_UNARY_OPERATOR("Unknown unary operator '%s'"),
+    UNKNOWN_BINARY_OPERATOR("Unknown binary operator '%s'"),
+    UNKNOWN_FUNCTION("Unknown function '%s'"),
+    INVALID_ARGUMENT_COUNT("Invalid number of arguments (%d) for function '%s'"),
+    INEXACT_FUNCTION("Function '%s' cannot be evaluated exactly in fixed-point arithmetic"),
+    ASSIGNMENT_NOT_EVALUABLE("Assignment cannot be evaluated directly"),
+    STATEMENT_NOT_ASSIGNMENT("Statement %d is not an assignment: %s"),
+    SNAPSHOT_READ_ONLY("Cannot assign '%s' in a read-only snapshot"),
+    INVALID_OPERAND_COUNT("Invalid number of operands (%d) for operator '%s'"),
+    UNSUPPORTED_EXPRESSION("Unsupported expression: %s"),
+    EXPRESSION_TOO_LARGE("Expression is too large to compile"),
+    INVALID_INSTRUCTION("Invalid instruction: %d"),
+    UNDEFINED_VARIABLE("Undefined variable '%s'"),
+    SYMBOL_LIMIT_EXCEEDED("Symbol table exceeds maximum of %d variables"),
+    DIVISION_BY_ZERO("Division by zero is not allowed"),
+    NUMERIC_OVERFLOW("Numeric overflow"),
+    CIRCULAR_DEPENDENCY("Circular dependency detected for variable '%s'"),
+    COMPILATION_FAILED("Bytecode compilation failed: %s"),
+    UNEXPECTED("Unknown exception: %s");
+
+    private final String template;
+
+    ErrorCode(String template) {
+        this.template = template;
+    }
+
+    String format(Object... arguments) {
+        return arguments.length == 0 ? template : String.format(template, arguments);
+    }
+}
@@ -0,0 +1,5 @@
+package expressionparser.model;
+
+interface Evaluator {
+    float eval(float[] frame);
+}
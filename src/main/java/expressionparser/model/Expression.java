@@ -4,11 +4,19 @@ import java.util.Map;
 import java.util.Optional;
 
 public interface Expression {
-    static Expression fromString(String input) {
+    static Expression fromString(CharSequence input) {
         return Parser.parse(new Lexer(input), 0.0f);
     }
 
+    static Expression fromString(CharSequence input, ParserLimits limits) {
+        return Parser.parse(new Lexer(input), limits);
+    }
+
     Optional<Assignment> assignment();
 
-    float eval(Map<String, Float> variables);
+    default float eval(Map<String, Float> variables) {
+        return eval(variables, FunctionRegistry.BUILT_INS);
+    }
+
+    float eval(Map<String, Float> variables, FunctionRegistry functions);
 }
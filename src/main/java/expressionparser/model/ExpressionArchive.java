@@ -0,0 +1,232 @@
+package expressionparser.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public final class ExpressionArchive {
+    private static final int MAGIC = 0x45585052;
+    private static final int VERSION = 1;
+
+    private static final byte CONSTANT = 0;
+    private static final byte LITERAL = 1;
+    private static final byte VARIABLE = 2;
+    private static final byte OPERATION = 3;
+    private static final byte CALL = 4;
+
+    private static final List<String> OPERATORS = List.of("=", "+", "-", "*", "/", "==", "!=", "<", ">", "<=", ">=", "&&", "||", "!", "?");
+
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private final Map<String, Integer> offsets;
+
+    private ExpressionArchive(ByteBuffer buffer, String[] strings, Map<String, Integer> offsets) {
+        this.buffer = buffer;
+        this.strings = strings;
+        this.offsets = offsets;
+    }
+
+    public static void write(Path file, Collection<String> sources) throws IOException {
+        Map<String, Expression> expressions = new LinkedHashMap<>();
+        for (String source : sources) {
+            expressions.put(source, Expression.fromString(source));
+        }
+        write(file, expressions);
+    }
+
+    public static void write(Path file, Map<String, Expression> expressions) throws IOException {
+        Encoder encoder = new Encoder();
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream entryOutput = new DataOutputStream(entries);
+        for (Map.Entry<String, Expression> entry : expressions.entrySet()) {
+            byte[] body = encoder.encode(entry.getValue());
+            entryOutput.writeInt(encoder.stringIndex(entry.getKey()));
+            entryOutput.writeInt(body.length);
+            entryOutput.write(body);
+        }
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(encoder.strings.size());
+            for (String string : encoder.strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            output.writeInt(expressions.size());
+            entries.writeTo(output);
+        }
+    }
+
+    public static ExpressionArchive open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Expression archive exceeds " + Integer.MAX_VALUE + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an expression archive: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported expression archive version: " + version);
+            }
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int count = buffer.getInt();
+            Map<String, Integer> offsets = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String source = strings[buffer.getInt()];
+                int length = buffer.getInt();
+                offsets.put(source, buffer.position());
+                buffer.position(buffer.position() + length);
+            }
+            return new ExpressionArchive(buffer, strings, offsets);
+        } catch (RuntimeException exception) {
+            throw new IOException("Corrupted expression archive: " + file, exception);
+        }
+    }
+
+    public int size() {
+        return offsets.size();
+    }
+
+    public Set<String> sources() {
+        return offsets.keySet();
+    }
+
+    public Optional<Expression> find(String source) {
+        Integer offset = offsets.get(source);
+        return offset == null ? Optional.empty() : Optional.of(decode(offset));
+    }
+
+    public void forEach(BiConsumer<String, Expression> consumer) {
+        offsets.forEach((source, offset) -> consumer.accept(source, decode(offset)));
+    }
+
+    private Expression decode(int offset) {
+        ByteBuffer body = buffer.duplicate().position(offset);
+        int end = offset + buffer.getInt(offset - Integer.BYTES);
+        Deque<Expression> stack = new ArrayDeque<>();
+        while (body.position() < end) {
+            byte opcode = body.get();
+            switch (opcode) {
+                case CONSTANT -> stack.push(new Atom(new BigDecimal(Float.toString(body.getFloat())).toPlainString()));
+                case LITERAL, VARIABLE -> stack.push(new Atom(strings[body.getInt()]));
+                case OPERATION -> {
+                    String operator = OPERATORS.get(body.get());
+                    stack.push(new Operation(operator, popArguments(stack, body.get())));
+                }
+                case CALL -> {
+                    String function = strings[body.getInt()];
+                    stack.push(new Call(function, popArguments(stack, body.getInt())));
+                }
+                default -> throw new ParserException(ErrorCode.INVALID_INSTRUCTION, opcode);
+            }
+        }
+        return stack.pop();
+    }
+
+    private static List<Expression> popArguments(Deque<Expression> stack, int count) {
+        Expression[] arguments = new Expression[count];
+        for (int i = count - 1; i >= 0; i--) {
+            arguments[i] = stack.pop();
+        }
+        return List.of(arguments);
+    }
+
+    private static final class Encoder {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private int stringIndex(String value) {
+            return indexes.computeIfAbsent(value, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        private byte[] encode(Expression expression) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            Deque<Expression> pending = new ArrayDeque<>();
+            Deque<Boolean> expanded = new ArrayDeque<>();
+            pending.push(expression);
+            expanded.push(false);
+            while (!pending.isEmpty()) {
+                Expression current = pending.pop();
+                boolean childrenWritten = expanded.pop();
+                List<Expression> children = switch (current) {
+                    case Operation operation -> operation.operands();
+                    case Call call -> call.arguments();
+                    default -> List.of();
+                };
+                if (!childrenWritten && !children.isEmpty()) {
+                    pending.push(current);
+                    expanded.push(true);
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        pending.push(children.get(i));
+                        expanded.push(false);
+                    }
+                    continue;
+                }
+                switch (current) {
+                    case Atom atom when atom.isNumber() && isExactFloat(atom.value()) -> {
+                        output.writeByte(CONSTANT);
+                        output.writeFloat(Float.parseFloat(atom.value()));
+                    }
+                    case Atom atom -> {
+                        output.writeByte(atom.isNumber() ? LITERAL : VARIABLE);
+                        output.writeInt(stringIndex(atom.value()));
+                    }
+                    case Operation operation -> {
+                        int operator = OPERATORS.indexOf(operation.operator());
+                        if (operator < 0 || children.size() > Byte.MAX_VALUE) {
+                            throw new ParserException(ErrorCode.UNSUPPORTED_EXPRESSION, operation);
+                        }
+                        output.writeByte(OPERATION);
+                        output.writeByte(operator);
+                        output.writeByte(children.size());
+                    }
+                    case Call call -> {
+                        output.writeByte(CALL);
+                        output.writeInt(stringIndex(call.function()));
+                        output.writeInt(children.size());
+                    }
+                    default -> throw new ParserException(ErrorCode.UNSUPPORTED_EXPRESSION, current);
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        private static boolean isExactFloat(String literal) {
+            float value = Float.parseFloat(literal);
+            return Float.isFinite(value) && new BigDecimal(literal).compareTo(new BigDecimal(Float.toString(value))) == 0;
+        }
+    }
+}
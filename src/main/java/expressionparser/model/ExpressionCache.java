@@ -0,0 +1,175 @@
+package expressionparser.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ExpressionCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final SymbolTable symbols;
+    private final Backend backend;
+    private final ParserLimits limits;
+    private final Segment[] segments;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final int symbolQuota;
+    private final AtomicInteger definedSymbols;
+
+    public ExpressionCache(int maximumSize) {
+        this(maximumSize, new SymbolTable(), Backend.TREE);
+    }
+
+    public ExpressionCache(int maximumSize, SymbolTable symbols, Backend backend) {
+        this(maximumSize, symbols, backend, ParserLimits.UNLIMITED);
+    }
+
+    public ExpressionCache(int maximumSize, SymbolTable symbols, Backend backend, ParserLimits limits) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.symbols = symbols;
+        this.backend = backend;
+        this.limits = limits;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.symbolQuota = SymbolTable.UNBOUNDED;
+        this.definedSymbols = new AtomicInteger();
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        this.segments = new Segment[segmentCount];
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    private ExpressionCache(ExpressionCache shared, int symbolQuota) {
+        this.symbols = shared.symbols;
+        this.backend = shared.backend;
+        this.limits = shared.limits;
+        this.segments = shared.segments;
+        this.hits = shared.hits;
+        this.misses = shared.misses;
+        this.evictions = shared.evictions;
+        this.symbolQuota = symbolQuota;
+        this.definedSymbols = new AtomicInteger();
+    }
+
+    public ExpressionCache withSymbolQuota(int symbolQuota) {
+        if (symbolQuota <= 0) {
+            throw new IllegalArgumentException("Symbol quota must be positive: " + symbolQuota);
+        }
+        return new ExpressionCache(this, symbolQuota);
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    public ParserLimits limits() {
+        return limits;
+    }
+
+    public CompiledExpression get(String source) {
+        Segment segment = segmentFor(source);
+        CompiledExpression expression = segment.find(source);
+        if (expression != null) {
+            hits.increment();
+            return expression;
+        }
+        misses.increment();
+        Expression parsed = Expression.fromString(source, limits);
+        if (symbolQuota != SymbolTable.UNBOUNDED) {
+            chargeNewSymbols(parsed);
+        }
+        CompiledExpression compiled = CompiledExpression.compile(parsed, symbols, backend);
+        return segment.store(source, compiled);
+    }
+
+    private void chargeNewSymbols(Expression expression) {
+        Set<String> names = new HashSet<>();
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            switch (pending.pop()) {
+                case Atom atom when atom.isVariable() && symbols.indexOf(atom.value()) < 0 -> names.add(atom.value());
+                case Operation operation -> operation.operands().forEach(pending::push);
+                case Call call -> call.arguments().forEach(pending::push);
+                default -> {
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        int defined;
+        do {
+            defined = definedSymbols.get();
+            if (names.size() > symbolQuota - defined) {
+                throw new ParserException(ErrorCode.SYMBOL_LIMIT_EXCEEDED, symbolQuota);
+            }
+        } while (!definedSymbols.compareAndSet(defined, defined + names.size()));
+    }
+
+    public int preload(ExpressionArchive archive) {
+        int[] loaded = new int[1];
+        archive.forEach((source, expression) -> {
+            segmentFor(source).store(source, CompiledExpression.compile(expression, symbols, backend));
+            loaded[0]++;
+        });
+        return loaded[0];
+    }
+
+    public Stats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentFor(String source) {
+        int hash = source.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private final class Segment {
+        private final Map<String, CompiledExpression> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private synchronized CompiledExpression find(String source) {
+            return entries.get(source);
+        }
+
+        private synchronized CompiledExpression store(String source, CompiledExpression expression) {
+            CompiledExpression existing = entries.putIfAbsent(source, expression);
+            return existing != null ? existing : expression;
+        }
+
+        private synchronized int count() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package expressionparser.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public final class FixedPointExpression {
+    private static final int NO_TARGET = -1;
+    private static final int MAX_SCALE = 18;
+
+    private final SymbolTable symbols;
+    private final int target;
+    private final int[] slots;
+    private final int[] lazySlots;
+    private final int frameSize;
+    private final int scale;
+    private final long factor;
+    private final int[] code;
+    private final long[] constants;
+    private final PostfixCode.CallSite[] calls;
+    private final ScaledFunction[] scaledFunctions;
+    private final int maxStack;
+    private final int temporaries;
+
+    private FixedPointExpression(SymbolTable symbols, int target, int[] slots, int scale, PostfixCode.Lowering lowering,
+                                 long[] constants) {
+        this.symbols = symbols;
+        this.target = target;
+        this.slots = slots;
+        this.lazySlots = lowering.lazySlots();
+        this.frameSize = Arrays.stream(slots).max().orElse(-1) + 1;
+        this.scale = scale;
+        this.factor = BigDecimal.ONE.scaleByPowerOfTen(scale).longValueExact();
+        this.code = lowering.code();
+        this.constants = constants;
+        this.calls = lowering.calls();
+        this.scaledFunctions = scaledFunctions(calls);
+        this.maxStack = lowering.maxStack();
+        this.temporaries = lowering.temporaries();
+    }
+
+    public static FixedPointExpression fromString(String input, int scale) {
+        return compile(Expression.fromString(input), scale);
+    }
+
+    public static FixedPointExpression compile(Expression expression, int scale) {
+        return compile(expression, new SymbolTable(), scale);
+    }
+
+    public static FixedPointExpression compile(Expression expression, SymbolTable symbols, int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        Optional<Assignment> assignment = expression.assignment();
+        Expression valueExpression = assignment.map(Assignment::expression).orElse(expression);
+        Set<Integer> slots = new LinkedHashSet<>();
+        ScaledConstants constants = new ScaledConstants(scale);
+        PostfixCode.Lowering lowering = PostfixCode.lower(Optimizer.optimizeWithoutFolding(valueExpression, symbols.functions()), symbols, slots, constants);
+        int target = assignment.map(value -> symbols.slotOf(value.variable())).orElse(NO_TARGET);
+        return new FixedPointExpression(symbols, target, slots.stream().mapToInt(Integer::intValue).toArray(), scale, lowering,
+                constants.values());
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    public Optional<String> target() {
+        return target == NO_TARGET ? Optional.empty() : Optional.of(symbols.name(target));
+    }
+
+    public List<String> variables() {
+        return Arrays.stream(slots).mapToObj(symbols::name).toList();
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public long toScaled(BigDecimal value) {
+        try {
+            return toScaled(value, scale);
+        } catch (ArithmeticException exception) {
+            throw new ParserException(ErrorCode.NUMERIC_OVERFLOW);
+        }
+    }
+
+    public BigDecimal toDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, scale);
+    }
+
+    public BigDecimal eval(Map<String, BigDecimal> values) {
+        long[] frame = new long[frameSize];
+        boolean[] missing = null;
+        for (int slot : slots) {
+            BigDecimal value = values.get(symbols.name(slot));
+            if (value != null) {
+                frame[slot] = toScaled(value);
+            } else if (isLazy(slot)) {
+                missing = markMissing(missing, frame.length, slot);
+            } else {
+                throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+            }
+        }
+        return toDecimal(eval(frame, missing));
+    }
+
+    public long eval(long... frame) {
+        return eval(frame, null);
+    }
+
+    private long eval(long[] frame, boolean[] missing) {
+        PostfixCode.Scratch scratch = PostfixCode.Scratch.acquire();
+        try {
+            return run(frame, missing, scratch);
+        } catch (ArithmeticException exception) {
+            throw new ParserException(ErrorCode.NUMERIC_OVERFLOW);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private boolean isLazy(int slot) {
+        for (int lazy : lazySlots) {
+            if (lazy == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean[] markMissing(boolean[] missing, int size, int slot) {
+        boolean[] marked = missing == null ? new boolean[size] : missing;
+        marked[slot] = true;
+        return marked;
+    }
+
+    private long run(long[] frame, boolean[] missing, PostfixCode.Scratch scratch) {
+        long[] stack = scratch.longs(maxStack + temporaries);
+        int top = -1;
+        for (int pc = 0; pc < code.length; pc++) {
+            int instruction = code[pc];
+            switch (PostfixCode.opcode(instruction)) {
+                case PostfixCode.LOAD_CONSTANT -> stack[++top] = constants[PostfixCode.operand(instruction)];
+                case PostfixCode.LOAD_VARIABLE -> stack[++top] = frame[PostfixCode.operand(instruction)];
+                case PostfixCode.LOAD_CHECKED_VARIABLE -> {
+                    int slot = PostfixCode.operand(instruction);
+                    if (missing != null && missing[slot]) {
+                        throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+                    }
+                    stack[++top] = frame[slot];
+                }
+                case PostfixCode.LOAD_TEMPORARY -> stack[++top] = stack[maxStack + PostfixCode.operand(instruction)];
+                case PostfixCode.STORE_TEMPORARY -> stack[maxStack + PostfixCode.operand(instruction)] = stack[top];
+                case PostfixCode.NEGATE -> stack[top] = Math.negateExact(stack[top]);
+                case PostfixCode.ADD -> {
+                    top--;
+                    stack[top] = Math.addExact(stack[top], stack[top + 1]);
+                }
+                case PostfixCode.SUBTRACT -> {
+                    top--;
+                    stack[top] = Math.subtractExact(stack[top], stack[top + 1]);
+                }
+                case PostfixCode.MULTIPLY -> {
+                    top--;
+                    stack[top] = multiply(stack[top], stack[top + 1]);
+                }
+                case PostfixCode.DIVIDE -> {
+                    top--;
+                    stack[top] = divide(stack[top], stack[top + 1]);
+                }
+                case PostfixCode.EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] == stack[top + 1] ? factor : 0;
+                }
+                case PostfixCode.NOT_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] != stack[top + 1] ? factor : 0;
+                }
+                case PostfixCode.LESS -> {
+                    top--;
+                    stack[top] = stack[top] < stack[top + 1] ? factor : 0;
+                }
+                case PostfixCode.GREATER -> {
+                    top--;
+                    stack[top] = stack[top] > stack[top + 1] ? factor : 0;
+                }
+                case PostfixCode.LESS_OR_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] <= stack[top + 1] ? factor : 0;
+                }
+                case PostfixCode.GREATER_OR_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] >= stack[top + 1] ? factor : 0;
+                }
+                case PostfixCode.NOT -> stack[top] = stack[top] == 0 ? factor : 0;
+                case PostfixCode.TRUTH -> stack[top] = stack[top] != 0 ? factor : 0;
+                case PostfixCode.JUMP -> pc = PostfixCode.operand(instruction) - 1;
+                case PostfixCode.JUMP_IF_FALSE -> {
+                    if (stack[top--] == 0) {
+                        pc = PostfixCode.operand(instruction) - 1;
+                    }
+                }
+                case PostfixCode.CALL -> {
+                    int index = PostfixCode.operand(instruction);
+                    PostfixCode.CallSite call = calls[index];
+                    top -= call.arguments() - 1;
+                    ScaledFunction function = scaledFunctions[index];
+                    stack[top] = function != null
+                            ? apply(function, stack, top, call.arguments())
+                            : invoke(call, stack, top, scratch);
+                }
+                default -> throw new ParserException(ErrorCode.INVALID_INSTRUCTION, instruction);
+            }
+        }
+        return stack[0];
+    }
+
+    private static ScaledFunction[] scaledFunctions(PostfixCode.CallSite[] calls) {
+        ScaledFunction[] functions = new ScaledFunction[calls.length];
+        for (int i = 0; i < calls.length; i++) {
+            FunctionRegistry.Definition function = calls[i].function();
+            if (FunctionRegistry.isBuiltIn(function)) {
+                functions[i] = switch (function.name()) {
+                    case "abs" -> ScaledFunction.ABS;
+                    case "sqrt" -> ScaledFunction.SQRT;
+                    case "floor" -> ScaledFunction.FLOOR;
+                    case "ceil" -> ScaledFunction.CEIL;
+                    case "round" -> ScaledFunction.ROUND;
+                    case "min" -> ScaledFunction.MIN;
+                    case "max" -> ScaledFunction.MAX;
+                    default -> throw new ParserException(ErrorCode.INEXACT_FUNCTION, function.name());
+                };
+            }
+        }
+        return functions;
+    }
+
+    private long apply(ScaledFunction function, long[] stack, int from, int arguments) {
+        long value = stack[from];
+        return switch (function) {
+            case ABS -> Math.absExact(value);
+            case SQRT -> sqrt(value);
+            case FLOOR -> Math.multiplyExact(Math.floorDiv(value, factor), factor);
+            case CEIL -> Math.multiplyExact(Math.ceilDiv(value, factor), factor);
+            case ROUND -> Math.multiplyExact(Math.floorDiv(Math.addExact(value, factor / 2), factor), factor);
+            case MIN -> {
+                for (int i = 1; i < arguments; i++) {
+                    value = Math.min(value, stack[from + i]);
+                }
+                yield value;
+            }
+            case MAX -> {
+                for (int i = 1; i < arguments; i++) {
+                    value = Math.max(value, stack[from + i]);
+                }
+                yield value;
+            }
+        };
+    }
+
+    private long sqrt(long value) {
+        if (value < 0) {
+            throw new ParserException(ErrorCode.NUMERIC_OVERFLOW);
+        }
+        long high = Math.multiplyHigh(value, factor);
+        long radicand = value * factor;
+        if (high != 0 || radicand >>> 62 != 0) {
+            BigInteger[] root = BigInteger.valueOf(value).multiply(BigInteger.valueOf(factor)).sqrtAndRemainder();
+            return root[0].add(root[1].compareTo(root[0]) > 0 ? BigInteger.ONE : BigInteger.ZERO).longValueExact();
+        }
+        long root = (long) Math.sqrt((double) radicand);
+        while (root * root > radicand) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= radicand) {
+            root++;
+        }
+        return radicand - root * root > root ? root + 1 : root;
+    }
+
+    private long invoke(PostfixCode.CallSite call, long[] stack, int from, PostfixCode.Scratch scratch) {
+        double[] arguments = scratch.arguments(call.arguments());
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = (double) stack[from + i] / factor;
+        }
+        double result = call.function().invoke(arguments);
+        if (!Double.isFinite(result)) {
+            throw new ParserException(ErrorCode.NUMERIC_OVERFLOW);
+        }
+        return toScaled(BigDecimal.valueOf(result), scale);
+    }
+
+    private long multiply(long left, long right) {
+        long high = Math.multiplyHigh(left, right);
+        long low = left * right;
+        if (high == low >> 63) {
+            return divideRounded(low, factor);
+        }
+        return toScaled(toDecimal(left).multiply(toDecimal(right)), scale);
+    }
+
+    private long divide(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw Operator.DIVISION_BY_ZERO;
+        }
+        long high = Math.multiplyHigh(numerator, factor);
+        long low = numerator * factor;
+        if (high == low >> 63) {
+            return divideRounded(low, denominator);
+        }
+        return toScaled(toDecimal(numerator).divide(toDecimal(denominator), scale, RoundingMode.HALF_UP), scale);
+    }
+
+    private static long divideRounded(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = Math.abs(numerator % denominator);
+        if (remainder != 0 && remainder >= Math.abs(denominator) - remainder) {
+            quotient += (numerator ^ denominator) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static long toScaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private enum ScaledFunction {
+        ABS,
+        SQRT,
+        FLOOR,
+        CEIL,
+        ROUND,
+        MIN,
+        MAX
+    }
+
+    private static final class ScaledConstants implements PostfixCode.ConstantPool {
+        private final int scale;
+        private final Map<Long, Integer> indexes = new HashMap<>();
+        private long[] values = new long[4];
+        private int count;
+
+        private ScaledConstants(int scale) {
+            this.scale = scale;
+        }
+
+        @Override
+        public int indexOf(String literal) {
+            long value;
+            try {
+                value = toScaled(new BigDecimal(literal), scale);
+            } catch (ArithmeticException exception) {
+                throw new ParserException(ErrorCode.NUMERIC_OVERFLOW);
+            }
+            return indexes.computeIfAbsent(value, key -> {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count] = value;
+                return count++;
+            });
+        }
+
+        private long[] values() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+}
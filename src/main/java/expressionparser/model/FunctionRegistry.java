@@ -0,0 +1,152 @@
+package expressionparser.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+public final class FunctionRegistry {
+    private static final List<Definition> BUILT_IN_DEFINITIONS = List.of(
+            new Unary("abs", Purity.PURE, Math::abs),
+            new Unary("sqrt", Purity.PURE, Math::sqrt),
+            new Unary("floor", Purity.PURE, Math::floor),
+            new Unary("ceil", Purity.PURE, Math::ceil),
+            new Unary("round", Purity.PURE, value -> Math.floor(value + 0.5)),
+            new Unary("exp", Purity.PURE, Math::exp),
+            new Unary("ln", Purity.PURE, Math::log),
+            new Unary("log10", Purity.PURE, Math::log10),
+            new Unary("sin", Purity.PURE, Math::sin),
+            new Unary("cos", Purity.PURE, Math::cos),
+            new Unary("tan", Purity.PURE, Math::tan),
+            new Binary("pow", Purity.PURE, Math::pow),
+            new Binary("hypot", Purity.PURE, Math::hypot),
+            new Binary("atan2", Purity.PURE, Math::atan2),
+            new Variadic("min", Purity.PURE, 1, FunctionRegistry::min),
+            new Variadic("max", Purity.PURE, 1, FunctionRegistry::max));
+    static final FunctionRegistry BUILT_INS = new FunctionRegistry();
+
+    private final Map<String, Definition> definitions = new ConcurrentHashMap<>();
+
+    public FunctionRegistry() {
+        BUILT_IN_DEFINITIONS.forEach(this::define);
+    }
+
+    public FunctionRegistry unary(String name, Purity purity, DoubleUnaryOperator function) {
+        return define(new Unary(name, purity, function));
+    }
+
+    public FunctionRegistry binary(String name, Purity purity, DoubleBinaryOperator function) {
+        return define(new Binary(name, purity, function));
+    }
+
+    public FunctionRegistry variadic(String name, Purity purity, int minimumArguments, VariadicFunction function) {
+        if (minimumArguments < 0) {
+            throw new IllegalArgumentException("Minimum arguments must not be negative: " + minimumArguments);
+        }
+        return define(new Variadic(name, purity, minimumArguments, function));
+    }
+
+    public boolean contains(String name) {
+        return definitions.containsKey(name);
+    }
+
+    Definition resolve(String name, int arguments) {
+        Definition definition = definitions.get(name);
+        if (definition == null) {
+            throw new ParserException(ErrorCode.UNKNOWN_FUNCTION, name);
+        }
+        if (!definition.accepts(arguments)) {
+            throw new ParserException(ErrorCode.INVALID_ARGUMENT_COUNT, arguments, name);
+        }
+        return definition;
+    }
+
+    static boolean isBuiltIn(Definition definition) {
+        return BUILT_IN_DEFINITIONS.stream().anyMatch(builtIn -> builtIn == definition);
+    }
+
+    private FunctionRegistry define(Definition definition) {
+        if (!Lexer.isIdentifier(definition.name())) {
+            throw new IllegalArgumentException("Invalid function name: " + definition.name());
+        }
+        definitions.put(definition.name(), definition);
+        return this;
+    }
+
+    private static double min(double[] arguments) {
+        double result = arguments[0];
+        for (int i = 1; i < arguments.length; i++) {
+            result = Math.min(result, arguments[i]);
+        }
+        return result;
+    }
+
+    private static double max(double[] arguments) {
+        double result = arguments[0];
+        for (int i = 1; i < arguments.length; i++) {
+            result = Math.max(result, arguments[i]);
+        }
+        return result;
+    }
+
+    public enum Purity {
+        PURE,
+        IMPURE
+    }
+
+    @FunctionalInterface
+    public interface VariadicFunction {
+        double apply(double[] arguments);
+    }
+
+    sealed interface Definition permits Unary, Binary, Variadic {
+        String name();
+
+        Purity purity();
+
+        boolean accepts(int arguments);
+
+        double invoke(double[] arguments);
+
+        default boolean isPure() {
+            return purity() == Purity.PURE;
+        }
+    }
+
+    record Unary(String name, Purity purity, DoubleUnaryOperator function) implements Definition {
+        @Override
+        public boolean accepts(int arguments) {
+            return arguments == 1;
+        }
+
+        @Override
+        public double invoke(double[] arguments) {
+            return function.applyAsDouble(arguments[0]);
+        }
+    }
+
+    record Binary(String name, Purity purity, DoubleBinaryOperator function) implements Definition {
+        @Override
+        public boolean accepts(int arguments) {
+            return arguments == 2;
+        }
+
+        @Override
+        public double invoke(double[] arguments) {
+            return function.applyAsDouble(arguments[0], arguments[1]);
+        }
+    }
+
+    record Variadic(String name, Purity purity, int minimumArguments, VariadicFunction function) implements Definition {
+        @Override
+        public boolean accepts(int arguments) {
+            return arguments >= minimumArguments;
+        }
+
+        @Override
+        public double invoke(double[] arguments) {
+            return function.apply(arguments);
+        }
+    }
+}
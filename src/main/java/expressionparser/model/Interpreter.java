@@ -1,66 +1,177 @@
 package expressionparser.model;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 public class Interpreter {
-    private final Map<String, Float> variables;
+    private static final int DEFAULT_MAX_SYMBOLS = 1 << 16;
+
+    private final SymbolTable symbols;
+    private final Scope scope;
+    private final ExpressionCache cache;
+    private final ParserLimits limits;
+    private final InterpreterListener listener;
+    private final boolean instrumented;
 
     public Interpreter() {
-        this.variables = new HashMap<>();
+        this(InterpreterListener.NO_OP);
+    }
+
+    public Interpreter(InterpreterListener listener) {
+        this(new SymbolTable(new FunctionRegistry(), DEFAULT_MAX_SYMBOLS), ParserLimits.UNLIMITED, listener);
+    }
+
+    public Interpreter(FunctionRegistry functions) {
+        this(new SymbolTable(functions, DEFAULT_MAX_SYMBOLS), ParserLimits.UNLIMITED, InterpreterListener.NO_OP);
+    }
+
+    public Interpreter(ParserLimits limits) {
+        this(new SymbolTable(new FunctionRegistry(), DEFAULT_MAX_SYMBOLS), limits, InterpreterListener.NO_OP);
+    }
+
+    public Interpreter(ExpressionCache cache) {
+        this(cache, InterpreterListener.NO_OP);
     }
 
-    public Result execute(String input) {
+    public Interpreter(ExpressionCache cache, InterpreterListener listener) {
+        this(cache, new Scope(cache.symbols()), listener);
+    }
+
+    Interpreter(ExpressionCache cache, Scope scope, InterpreterListener listener) {
+        this.symbols = cache.symbols();
+        this.scope = scope;
+        this.cache = cache;
+        this.limits = cache.limits();
+        this.listener = listener;
+        this.instrumented = listener != InterpreterListener.NO_OP;
+    }
+
+    private Interpreter(SymbolTable symbols, ParserLimits limits, InterpreterListener listener) {
+        this.symbols = symbols;
+        this.scope = new Scope(symbols);
+        this.cache = null;
+        this.limits = limits;
+        this.listener = listener;
+        this.instrumented = listener != InterpreterListener.NO_OP;
+    }
+
+    public Result execute(CharSequence input) {
         try {
-            Expression expression = Expression.fromString(input);
-            return expression.assignment()
-                    .map(this::handleAssignment)
-                    .orElseGet(() -> evalExpression(expression));
+            CompiledExpression expression = compile(input);
+            return expression.targetSlot() >= 0
+                    ? handleAssignment(expression, input)
+                    : evalExpression(expression, input);
         } catch (ParserException exception) {
+            listener.failed(InterpreterListener.Failure.PARSER, input, exception);
             return Result.failure(exception);
         } catch (Exception exception) {
-            return Result.failure(new ParserException("Unknown exception: " + exception.getMessage()));
+            listener.failed(InterpreterListener.Failure.UNEXPECTED, input, exception);
+            return Result.failure(new ParserException(ErrorCode.UNEXPECTED, exception.getMessage()));
         }
     }
 
-    private Result handleAssignment(Assignment assignment) {
-        float value = assignment.expression().eval(variables);
-        variables.put(assignment.variable(), value);
-        return Result.success(assignment.variable(), value);
+    public Map<String, Float> variables() {
+        return scope.toMap();
+    }
+
+    private CompiledExpression compile(CharSequence input) {
+        long started = startTimer();
+        if (cache != null) {
+            CompiledExpression expression = cache.get(input.toString());
+            stopTimer(InterpreterListener.Phase.COMPILE, input, started);
+            return expression;
+        }
+        Expression expression = Expression.fromString(input, limits);
+        started = stopTimer(InterpreterListener.Phase.PARSE, input, started);
+        CompiledExpression compiled = CompiledExpression.compile(expression, symbols);
+        stopTimer(InterpreterListener.Phase.COMPILE, input, started);
+        return compiled;
     }
 
-    private Result evalExpression(Expression expression) {
-        return Result.success(expression.eval(variables));
+    private Result handleAssignment(CompiledExpression expression, CharSequence input) {
+        long started = startTimer();
+        float value = expression.eval(scope);
+        stopTimer(InterpreterListener.Phase.EVALUATE, input, started);
+        scope.set(expression.targetSlot(), value);
+        return Result.success(symbols.name(expression.targetSlot()), value);
+    }
+
+    private Result evalExpression(CompiledExpression expression, CharSequence input) {
+        long started = startTimer();
+        float value = expression.eval(scope);
+        stopTimer(InterpreterListener.Phase.EVALUATE, input, started);
+        return Result.success(value);
+    }
+
+    private long startTimer() {
+        return instrumented ? System.nanoTime() : 0L;
+    }
+
+    private long stopTimer(InterpreterListener.Phase phase, CharSequence input, long started) {
+        if (!instrumented) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        listener.phaseCompleted(phase, input, now - started);
+        return now;
     }
 
     public static class Result {
-        private final String value;
+        private final String variable;
+        private final float number;
         private final Exception exception;
 
-        private Result(String value, Exception exception) {
-            this.value = value;
+        private Result(String variable, float number, Exception exception) {
+            this.variable = variable;
+            this.number = number;
             this.exception = exception;
         }
 
         public static Result success(String variable, float result) {
-            return new Result(variable + " = " + formatResult(result), null);
+            return new Result(variable, result, null);
         }
 
         public static Result success(float result) {
-            return new Result(formatResult(result), null);
+            return new Result(null, result, null);
         }
 
         public static Result failure(Exception exception) {
-            return new Result(null, exception);
+            return new Result(null, Float.NaN, exception);
         }
 
         private static String formatResult(float value) {
             return Math.floor(value) == value ? String.valueOf((int) value) : String.valueOf(value);
         }
 
+        public boolean succeeded() {
+            return exception == null;
+        }
+
+        public Optional<String> variable() {
+            return Optional.ofNullable(variable);
+        }
+
+        public float number() {
+            return number;
+        }
+
+        public Optional<ErrorCode> error() {
+            if (exception == null) {
+                return Optional.empty();
+            }
+            return Optional.of(exception instanceof ParserException parserException ? parserException.code() : ErrorCode.UNEXPECTED);
+        }
+
+        public int position() {
+            return exception instanceof ParserException parserException ? parserException.position() : ParserException.NO_POSITION;
+        }
+
         public String value() {
-            return Objects.nonNull(value) ? value : exception.getMessage();
+            if (Objects.nonNull(exception)) {
+                return exception.getMessage();
+            }
+            return Objects.nonNull(variable) ? variable + " = " + formatResult(number) : formatResult(number);
         }
     }
 }
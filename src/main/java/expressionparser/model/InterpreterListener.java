@@ -0,0 +1,44 @@
+package expressionparser.model;
+
+import java.util.List;
+
+public interface InterpreterListener {
+    InterpreterListener NO_OP = new InterpreterListener() {
+    };
+
+    default void phaseCompleted(Phase phase, CharSequence source, long nanos) {
+    }
+
+    default void failed(Failure failure, CharSequence source, Exception exception) {
+    }
+
+    static InterpreterListener of(InterpreterListener... listeners) {
+        List<InterpreterListener> delegates = List.of(listeners);
+        return new InterpreterListener() {
+            @Override
+            public void phaseCompleted(Phase phase, CharSequence source, long nanos) {
+                for (InterpreterListener delegate : delegates) {
+                    delegate.phaseCompleted(phase, source, nanos);
+                }
+            }
+
+            @Override
+            public void failed(Failure failure, CharSequence source, Exception exception) {
+                for (InterpreterListener delegate : delegates) {
+                    delegate.failed(failure, source, exception);
+                }
+            }
+        };
+    }
+
+    enum Phase {
+        PARSE,
+        COMPILE,
+        EVALUATE
+    }
+
+    enum Failure {
+        PARSER,
+        UNEXPECTED
+    }
+}
@@ -0,0 +1,174 @@
+package expressionparser.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class InterpreterMetrics implements InterpreterListener {
+    private static final int DEFAULT_TRACKED_EXPRESSIONS = 1024;
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final Map<Phase, Histogram> latencies = new EnumMap<>(Phase.class);
+    private final Map<Failure, LongAdder> failures = new EnumMap<>(Failure.class);
+    private final Map<Key, Counter> evaluations = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final int trackedExpressions;
+
+    public InterpreterMetrics() {
+        this(DEFAULT_TRACKED_EXPRESSIONS);
+    }
+
+    public InterpreterMetrics(int trackedExpressions) {
+        if (trackedExpressions <= 0) {
+            throw new IllegalArgumentException("Tracked expressions must be positive: " + trackedExpressions);
+        }
+        this.trackedExpressions = trackedExpressions;
+        for (Phase phase : Phase.values()) {
+            latencies.put(phase, new Histogram());
+        }
+        for (Failure failure : Failure.values()) {
+            failures.put(failure, new LongAdder());
+        }
+    }
+
+    @Override
+    public void phaseCompleted(Phase phase, CharSequence source, long nanos) {
+        latencies.get(phase).record(nanos);
+        if (phase == Phase.EVALUATE) {
+            counterFor(source).count.increment();
+        }
+    }
+
+    private Counter counterFor(CharSequence source) {
+        Counter counter = evaluations.get(Key.of(source));
+        if (counter != null) {
+            counter.touch(clock.get());
+            return counter;
+        }
+        Key key = Key.of(source.toString());
+        counter = evaluations.computeIfAbsent(key, ignored -> new Counter(clock.getAndIncrement()));
+        evictBeyondLimit(key);
+        return counter;
+    }
+
+    private void evictBeyondLimit(Key kept) {
+        while (evaluations.size() > trackedExpressions) {
+            Map.Entry<Key, Counter> eldest = null;
+            int sampled = 0;
+            for (Map.Entry<Key, Counter> entry : evaluations.entrySet()) {
+                if (!entry.getKey().equals(kept) && (eldest == null || entry.getValue().lastUsed < eldest.getValue().lastUsed)) {
+                    eldest = entry;
+                }
+                if (++sampled == EVICTION_SAMPLE) {
+                    break;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            evaluations.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    @Override
+    public void failed(Failure failure, CharSequence source, Exception exception) {
+        failures.get(failure).increment();
+    }
+
+    public Latency latency(Phase phase) {
+        return latencies.get(phase).snapshot();
+    }
+
+    public long failures(Failure failure) {
+        return failures.get(failure).sum();
+    }
+
+    public Map<String, Long> evaluations() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        evaluations.forEach((key, counter) -> counts.put(key.source().toString(), counter.count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private record Key(CharSequence source, int hash) {
+        private static Key of(CharSequence source) {
+            if (source instanceof String string) {
+                return new Key(string, string.hashCode());
+            }
+            int hash = 0;
+            for (int i = 0; i < source.length(); i++) {
+                hash = 31 * hash + source.charAt(i);
+            }
+            return new Key(source, hash);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && CharSequence.compare(source, key.source) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private volatile long lastUsed;
+
+        private Counter(long lastUsed) {
+            this.lastUsed = lastUsed;
+        }
+
+        private void touch(long tick) {
+            if (lastUsed != tick) {
+                lastUsed = tick;
+            }
+        }
+    }
+
+    public record Latency(long count, long totalNanos, long[] buckets) {
+        public long percentile(double percentile) {
+            long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                seen += buckets[bucket];
+                if (seen >= rank && seen > 0) {
+                    return bucket == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Histogram {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+
+        private Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long value = Math.max(1, nanos);
+            buckets[Long.SIZE - 1 - Long.numberOfLeadingZeros(value)].increment();
+            count.increment();
+            total.add(value);
+        }
+
+        private Latency snapshot() {
+            long[] values = new long[buckets.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buckets[i].sum();
+            }
+            return new Latency(count.sum(), total.sum(), values);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package expressionparser.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+public final class JfrInterpreterListener implements InterpreterListener {
+
+    @Override
+    public void phaseCompleted(Phase phase, CharSequence source, long nanos) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.shouldCommit()) {
+            event.phase = phase.name();
+            event.source = source.toString();
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void failed(Failure failure, CharSequence source, Exception exception) {
+        FailureEvent event = new FailureEvent();
+        if (event.shouldCommit()) {
+            event.failure = failure.name();
+            event.source = source.toString();
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+
+    @Name("expressionparser.Phase")
+    @Label("Expression Phase")
+    @Category("Expression Parser")
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Source")
+        String source;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+    @Name("expressionparser.Failure")
+    @Label("Expression Failure")
+    @Category("Expression Parser")
+    static final class FailureEvent extends Event {
+        @Label("Failure")
+        String failure;
+
+        @Label("Source")
+        String source;
+
+        @Label("Message")
+        String message;
+    }
+}
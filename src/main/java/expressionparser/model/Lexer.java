@@ -1,103 +1,172 @@
 package expressionparser.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.nio.CharBuffer;
 
-public class Lexer {
+public final class Lexer {
 
-    private final List<Token> tokens;
+    private final CharSequence input;
+    private int position;
+    private Token.TokenType type;
+    private int start;
+    private int end;
+    private Token token;
 
-    public Lexer(String input) {
-        this.tokens = new ArrayList<>();
-        tokenize(input);
-        Collections.reverse(tokens);
+    public Lexer(CharSequence input) {
+        this.input = input;
+        advance();
     }
 
-    private void tokenize(String input) {
-        int position = 0;
-        while (position < input.length()) {
-            char currentChar = input.charAt(position);
+    public Lexer(char[] input) {
+        this(CharBuffer.wrap(input));
+    }
 
-            if (Character.isWhitespace(currentChar)) {
-                position++;
-                continue;
-            }
+    public Token next() {
+        Token current = peek();
+        advance();
+        return current;
+    }
 
-            if (isStartOfNumber(input, position)) {
-                position = consumeNumber(input, position);
-                continue;
-            }
+    public Token peek() {
+        if (type == Token.TokenType.EOF) {
+            return Token.EOF;
+        }
+        if (token == null) {
+            token = new Token(type, input, start, end);
+        }
+        return token;
+    }
+
+    int length() {
+        return input.length();
+    }
+
+    Token.TokenType type() {
+        return type;
+    }
 
-            if (Character.isLetter(currentChar)) {
-                position = consumeIdentifier(input, position);
-                continue;
+    int start() {
+        return start;
+    }
+
+    String text() {
+        return type == Token.TokenType.EOF ? Token.EOF.value() : input.subSequence(start, end).toString();
+    }
+
+    boolean isIdentifier() {
+        return type == Token.TokenType.ATOM && Character.isLetter(input.charAt(start));
+    }
+
+    static boolean isIdentifier(CharSequence name) {
+        if (name.isEmpty() || !Character.isLetter(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isLetterOrDigit(name.charAt(i))) {
+                return false;
             }
+        }
+        return true;
+    }
+
+    boolean isOperator(char operator) {
+        return type == Token.TokenType.OPERATOR && end - start == 1 && input.charAt(start) == operator;
+    }
 
-            position = consumeOperator(input, position);
+    String operator() {
+        char first = input.charAt(start);
+        if (end - start == 2) {
+            return switch (first) {
+                case '=' -> "==";
+                case '!' -> "!=";
+                case '>' -> ">=";
+                case '<' -> "<=";
+                case '&' -> "&&";
+                case '|' -> "||";
+                default -> null;
+            };
         }
+        return switch (first) {
+            case '=' -> "=";
+            case '+' -> "+";
+            case '-' -> "-";
+            case '*' -> "*";
+            case '/' -> "/";
+            case '<' -> "<";
+            case '>' -> ">";
+            case '!' -> "!";
+            case '?' -> "?";
+            case ':' -> ":";
+            case ',' -> ",";
+            default -> null;
+        };
     }
 
-    private boolean isStartOfNumber(String input, int position) {
+    void advance() {
+        token = null;
+        while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+            position++;
+        }
+        start = position;
+        if (position >= input.length()) {
+            type = Token.TokenType.EOF;
+            end = position;
+            return;
+        }
+
+        if (isStartOfNumber(position)) {
+            type = Token.TokenType.ATOM;
+            position = consumeNumber(position);
+        } else if (Character.isLetter(input.charAt(position))) {
+            type = Token.TokenType.ATOM;
+            position = consumeIdentifier(position);
+        } else {
+            type = Token.TokenType.OPERATOR;
+            position = consumeOperator(position);
+        }
+        end = position;
+    }
+
+    private boolean isStartOfNumber(int position) {
         char currentChar = input.charAt(position);
         return Character.isDigit(currentChar) ||
                 (currentChar == '.' && position + 1 < input.length() && Character.isDigit(input.charAt(position + 1)));
     }
 
-    private int consumeNumber(String input, int startPosition) {
-        StringBuilder numberBuilder = new StringBuilder();
+    private int consumeNumber(int startPosition) {
         boolean hasDecimalPoint = false;
         int position = startPosition;
 
         while (position < input.length()) {
             char c = input.charAt(position);
-            if (Character.isDigit(c)) {
-                numberBuilder.append(c);
-            } else if (c == '.' && !hasDecimalPoint) {
+            if (c == '.' && !hasDecimalPoint) {
                 hasDecimalPoint = true;
-                numberBuilder.append('.');
-            } else {
+            } else if (!Character.isDigit(c)) {
                 break;
             }
             position++;
         }
-
-        tokens.add(new Token(Token.TokenType.ATOM, numberBuilder.toString()));
         return position;
     }
 
-    private int consumeIdentifier(String input, int startPosition) {
-        StringBuilder identifierBuilder = new StringBuilder();
+    private int consumeIdentifier(int startPosition) {
         int position = startPosition;
-
         while (position < input.length() && Character.isLetterOrDigit(input.charAt(position))) {
-            identifierBuilder.append(input.charAt(position));
             position++;
         }
-
-        tokens.add(new Token(Token.TokenType.ATOM, identifierBuilder.toString()));
         return position;
     }
 
-    private int consumeOperator(String input, int position) {
+    private int consumeOperator(int position) {
         if (position + 1 < input.length()) {
-            String twoChars = input.substring(position, position + 2);
-            if (List.of("==", "!=", ">=", "<=").contains(twoChars)) {
-                tokens.add(new Token(Token.TokenType.OPERATOR, twoChars));
+            char first = input.charAt(position);
+            char second = input.charAt(position + 1);
+            if (second == '=' && (first == '=' || first == '!' || first == '>' || first == '<')) {
+                return position + 2;
+            }
+            if (second == first && (first == '&' || first == '|')) {
                 return position + 2;
             }
         }
-
-        char inputChar = input.charAt(position);
-        tokens.add(new Token(Token.TokenType.OPERATOR, String.valueOf(inputChar)));
         return position + 1;
     }
-
-    public Token next() {
-        return tokens.isEmpty() ? Token.EOF : tokens.removeLast();
-    }
-
-    public Token peek() {
-        return tokens.isEmpty() ? Token.EOF : tokens.getLast();
-    }
 }
@@ -25,27 +25,33 @@ record Operation(String operator, List<Expression> operands) implements Expressi
     }
 
     @Override
-    public float eval(Map<String, Float> variables) {
+    public float eval(Map<String, Float> variables, FunctionRegistry functions) {
         return switch (operands.size()) {
-            case 1 -> evaluateUnaryOperation(variables);
-            case 2 -> evaluateBinaryOperation(variables);
-            default -> throw new ParserException(
-                    String.format("Invalid number of operands (%d) for operator '%s'", operands.size(), operator)
-            );
+            case 1 -> evaluateUnaryOperation(variables, functions);
+            case 2 -> evaluateBinaryOperation(variables, functions);
+            case 3 -> evaluateConditional(variables, functions);
+            default -> throw new ParserException(ErrorCode.INVALID_OPERAND_COUNT, operands.size(), operator);
         };
     }
 
-    private float evaluateUnaryOperation(Map<String, Float> variables) {
-        float operandValue = operands.getFirst().eval(variables);
+    private float evaluateUnaryOperation(Map<String, Float> variables, FunctionRegistry functions) {
+        float operandValue = operands.getFirst().eval(variables, functions);
         return switch (operator) {
             case "-" -> -operandValue;
-            default -> throw new ParserException(String.format("Unknown unary operator '%s'", operator));
+            case "!" -> operandValue == 0 ? TRUE_VALUE : FALSE_VALUE;
+            default -> throw new ParserException(ErrorCode.UNKNOWN_UNARY_OPERATOR, operator);
         };
     }
 
-    private float evaluateBinaryOperation(Map<String, Float> variables) {
-        float leftOperand = operands.get(0).eval(variables);
-        float rightOperand = operands.get(1).eval(variables);
+    private float evaluateBinaryOperation(Map<String, Float> variables, FunctionRegistry functions) {
+        if (operator.equals("&&")) {
+            return operands.get(0).eval(variables, functions) != 0 && operands.get(1).eval(variables, functions) != 0 ? TRUE_VALUE : FALSE_VALUE;
+        }
+        if (operator.equals("||")) {
+            return operands.get(0).eval(variables, functions) != 0 || operands.get(1).eval(variables, functions) != 0 ? TRUE_VALUE : FALSE_VALUE;
+        }
+        float leftOperand = operands.get(0).eval(variables, functions);
+        float rightOperand = operands.get(1).eval(variables, functions);
         return switch (operator) {
             case "+" -> leftOperand + rightOperand;
             case "-" -> leftOperand - rightOperand;
@@ -57,14 +63,21 @@ record Operation(String operator, List<Expression> operands) implements Expressi
             case ">"  -> leftOperand >  rightOperand ? TRUE_VALUE : FALSE_VALUE;
             case "<=" -> leftOperand <= rightOperand ? TRUE_VALUE : FALSE_VALUE;
             case ">=" -> leftOperand >= rightOperand ? TRUE_VALUE : FALSE_VALUE;
-            case "=" -> throw new ParserException("Assignment cannot be evaluated directly");
-            default -> throw new ParserException(String.format("Unknown binary operator '%s'", operator));
+            case "=" -> throw new ParserException(ErrorCode.ASSIGNMENT_NOT_EVALUABLE);
+            default -> throw new ParserException(ErrorCode.UNKNOWN_BINARY_OPERATOR, operator);
         };
     }
 
+    private float evaluateConditional(Map<String, Float> variables, FunctionRegistry functions) {
+        if (!operator.equals("?")) {
+            throw new ParserException(ErrorCode.INVALID_OPERAND_COUNT, operands.size(), operator);
+        }
+        return operands.get(0).eval(variables, functions) != 0 ? operands.get(1).eval(variables, functions) : operands.get(2).eval(variables, functions);
+    }
+
     private float performSafeDivision(float numerator, float denominator) {
         if (denominator == 0) {
-            throw new ParserException("Division by zero is not allowed");
+            throw Operator.DIVISION_BY_ZERO;
         }
         return numerator / denominator;
     }
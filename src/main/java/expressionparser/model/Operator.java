@@ -0,0 +1,72 @@
+package expressionparser.model;
+
+import java.util.Optional;
+
+enum Operator {
+    ADD("+"),
+    SUBTRACT("-"),
+    MULTIPLY("*"),
+    DIVIDE("/"),
+    EQUAL("=="),
+    NOT_EQUAL("!="),
+    LESS("<"),
+    GREATER(">"),
+    LESS_OR_EQUAL("<="),
+    GREATER_OR_EQUAL(">=");
+
+    static final float TRUE_VALUE = 1.0f;
+    static final float FALSE_VALUE = 0.0f;
+    static final ParserException DIVISION_BY_ZERO = new ParserException(ErrorCode.DIVISION_BY_ZERO);
+
+    private final String symbol;
+
+    Operator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    static Optional<Operator> find(String symbol) {
+        for (Operator operator : values()) {
+            if (operator.symbol.equals(symbol)) {
+                return Optional.of(operator);
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Operator binary(String symbol) {
+        Optional<Operator> operator = find(symbol);
+        if (operator.isPresent()) {
+            return operator.get();
+        }
+        if (symbol.equals("=")) {
+            throw new ParserException(ErrorCode.ASSIGNMENT_NOT_EVALUABLE);
+        }
+        throw new ParserException(ErrorCode.UNKNOWN_BINARY_OPERATOR, symbol);
+    }
+
+    String symbol() {
+        return symbol;
+    }
+
+    float apply(float left, float right) {
+        return switch (this) {
+            case ADD -> left + right;
+            case SUBTRACT -> left - right;
+            case MULTIPLY -> left * right;
+            case DIVIDE -> divide(left, right);
+            case EQUAL -> left == right ? TRUE_VALUE : FALSE_VALUE;
+            case NOT_EQUAL -> left != right ? TRUE_VALUE : FALSE_VALUE;
+            case LESS -> left < right ? TRUE_VALUE : FALSE_VALUE;
+            case GREATER -> left > right ? TRUE_VALUE : FALSE_VALUE;
+            case LESS_OR_EQUAL -> left <= right ? TRUE_VALUE : FALSE_VALUE;
+            case GREATER_OR_EQUAL -> left >= right ? TRUE_VALUE : FALSE_VALUE;
+        };
+    }
+
+    static float divide(float numerator, float denominator) {
+        if (denominator == 0) {
+            throw DIVISION_BY_ZERO;
+        }
+        return numerator / denominator;
+    }
+}
@@ -0,0 +1,240 @@
+package expressionparser.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+final class Optimizer {
+    private static final String NEGATION = "-";
+    private static final String NOT = "!";
+    private static final String AND = "&&";
+    private static final String OR = "||";
+    private static final String CONDITIONAL = "?";
+
+    private final Map<Key, Expression> interned = new HashMap<>();
+    private final Map<Expression, Integer> ids = new IdentityHashMap<>();
+    private final boolean foldConstants;
+    private final FunctionRegistry functions;
+
+    private Optimizer(boolean foldConstants, FunctionRegistry functions) {
+        this.foldConstants = foldConstants;
+        this.functions = functions;
+    }
+
+    static Expression optimize(Expression expression, FunctionRegistry functions) {
+        return new Optimizer(true, functions).run(expression);
+    }
+
+    static Expression optimizeWithoutFolding(Expression expression, FunctionRegistry functions) {
+        return new Optimizer(false, functions).run(expression);
+    }
+
+    private Expression run(Expression expression) {
+        Deque<Expression> pending = new ArrayDeque<>();
+        Deque<Boolean> expanded = new ArrayDeque<>();
+        Deque<Expression> results = new ArrayDeque<>();
+        pending.push(expression);
+        expanded.push(false);
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
+            boolean operandsOptimized = expanded.pop();
+            switch (current) {
+                case Operation operation when operandsOptimized -> {
+                    List<Expression> operands = new ArrayList<>(operation.operands().size());
+                    for (int i = 0; i < operation.operands().size(); i++) {
+                        operands.addFirst(results.pop());
+                    }
+                    results.push(simplify(operation.operator(), operands));
+                }
+                case Operation operation -> {
+                    pending.push(operation);
+                    expanded.push(true);
+                    for (int i = operation.operands().size() - 1; i >= 0; i--) {
+                        pending.push(operation.operands().get(i));
+                        expanded.push(false);
+                    }
+                }
+                case Call call when operandsOptimized -> {
+                    List<Expression> arguments = new ArrayList<>(call.arguments().size());
+                    for (int i = 0; i < call.arguments().size(); i++) {
+                        arguments.addFirst(results.pop());
+                    }
+                    results.push(simplifyCall(call.function(), arguments));
+                }
+                case Call call -> {
+                    pending.push(call);
+                    expanded.push(true);
+                    for (int i = call.arguments().size() - 1; i >= 0; i--) {
+                        pending.push(call.arguments().get(i));
+                        expanded.push(false);
+                    }
+                }
+                default -> results.push(intern(current));
+            }
+        }
+        return results.pop();
+    }
+
+    private Expression simplify(String operator, List<Expression> operands) {
+        if (operands.size() == 1 && operator.equals(NEGATION)) {
+            Expression operand = operands.getFirst();
+            Optional<Float> value = constantValue(operand);
+            if (foldConstants && value.isPresent()) {
+                return constant(-value.get());
+            }
+            if (operand instanceof Operation negation && isNegation(negation)) {
+                return negation.operands().getFirst();
+            }
+        }
+        if (foldConstants) {
+            Optional<Expression> selected = selectBranch(operator, operands);
+            if (selected.isPresent()) {
+                return selected.get();
+            }
+        }
+        Optional<Operator> binary = Operator.find(operator);
+        if (operands.size() == 2 && binary.isPresent()) {
+            Optional<Expression> simplified = simplify(binary.get(), operands.get(0), operands.get(1));
+            if (simplified.isPresent()) {
+                return simplified.get();
+            }
+        }
+        return intern(new Operation(operator, operands));
+    }
+
+    private Optional<Expression> simplify(Operator operator, Expression left, Expression right) {
+        Optional<Float> leftValue = constantValue(left);
+        Optional<Float> rightValue = constantValue(right);
+        if (foldConstants && leftValue.isPresent() && rightValue.isPresent()) {
+            if (operator == Operator.DIVIDE && rightValue.get() == 0) {
+                return Optional.empty();
+            }
+            float value = operator.apply(leftValue.get(), rightValue.get());
+            return Float.isFinite(value) ? Optional.of(constant(value)) : Optional.empty();
+        }
+        return switch (operator) {
+            case ADD -> isLiteral(right, BigDecimal.ZERO) && cannotBeNegativeZero(left) ? Optional.of(left)
+                    : isLiteral(left, BigDecimal.ZERO) && cannotBeNegativeZero(right) ? Optional.of(right) : Optional.empty();
+            case SUBTRACT -> isLiteral(right, BigDecimal.ZERO) ? Optional.of(left) : Optional.empty();
+            case MULTIPLY -> isLiteral(right, BigDecimal.ONE) ? Optional.of(left) : isLiteral(left, BigDecimal.ONE) ? Optional.of(right) : Optional.empty();
+            case DIVIDE -> isLiteral(right, BigDecimal.ONE) ? Optional.of(left) : Optional.empty();
+            default -> Optional.empty();
+        };
+    }
+
+    private Expression simplifyCall(String function, List<Expression> arguments) {
+        FunctionRegistry.Definition definition = functions.resolve(function, arguments.size());
+        Call call = new Call(function, arguments);
+        if (!definition.isPure()) {
+            return call;
+        }
+        if (foldConstants) {
+            double[] values = new double[arguments.size()];
+            for (int i = 0; i < values.length; i++) {
+                Optional<Float> value = constantValue(arguments.get(i));
+                if (value.isEmpty()) {
+                    return intern(call);
+                }
+                values[i] = value.get();
+            }
+            float value = (float) definition.invoke(values);
+            if (Float.isFinite(value)) {
+                return constant(value);
+            }
+        }
+        return intern(call);
+    }
+
+    private Optional<Expression> selectBranch(String operator, List<Expression> operands) {
+        Optional<Boolean> condition = constantValue(operands.getFirst()).map(value -> value != 0);
+        if (condition.isEmpty()) {
+            return Optional.empty();
+        }
+        return switch (operator) {
+            case NOT -> operands.size() == 1 ? Optional.of(truth(!condition.get())) : Optional.empty();
+            case CONDITIONAL -> operands.size() == 3 ? Optional.of(operands.get(condition.get() ? 1 : 2)) : Optional.empty();
+            case AND, OR -> {
+                if (operands.size() != 2) {
+                    yield Optional.empty();
+                }
+                if (condition.get() == operator.equals(OR)) {
+                    yield Optional.of(truth(condition.get()));
+                }
+                yield constantValue(operands.get(1)).map(value -> truth(value != 0));
+            }
+            default -> Optional.empty();
+        };
+    }
+
+    private Expression truth(boolean value) {
+        return constant(value ? Operator.TRUE_VALUE : Operator.FALSE_VALUE);
+    }
+
+    private static boolean isLiteral(Expression expression, BigDecimal expected) {
+        return expression instanceof Atom atom && atom.isNumber() && new BigDecimal(atom.value()).compareTo(expected) == 0;
+    }
+
+    private static boolean cannotBeNegativeZero(Expression expression) {
+        return switch (expression) {
+            case Atom atom -> atom.isNumber();
+            case Operation operation -> switch (operation.operator()) {
+                case NOT, AND, OR -> true;
+                default -> Operator.find(operation.operator()).map(operator -> switch (operator) {
+                    case EQUAL, NOT_EQUAL, LESS, GREATER, LESS_OR_EQUAL, GREATER_OR_EQUAL -> true;
+                    case ADD, SUBTRACT, MULTIPLY, DIVIDE -> false;
+                }).orElse(false);
+            };
+            default -> false;
+        };
+    }
+
+    private static boolean isNegation(Operation operation) {
+        return operation.operator().equals(NEGATION) && operation.operands().size() == 1;
+    }
+
+    private static Optional<Float> constantValue(Expression expression) {
+        if (expression instanceof Atom atom && atom.isNumber()) {
+            return Optional.of(atom.resolveNumber());
+        }
+        if (expression instanceof Operation operation && isNegation(operation)
+                && operation.operands().getFirst() instanceof Atom atom && atom.isNumber()) {
+            return Optional.of(-atom.resolveNumber());
+        }
+        return Optional.empty();
+    }
+
+    private Expression constant(float value) {
+        Expression literal = intern(new Atom(new BigDecimal(Float.toString(Math.abs(value))).toPlainString()));
+        boolean negative = Float.floatToRawIntBits(value) < 0;
+        return negative ? intern(new Operation(NEGATION, List.of(literal))) : literal;
+    }
+
+    private Expression intern(Expression expression) {
+        Key key = switch (expression) {
+            case Atom atom -> new Key(atom.value(), List.of());
+            case Operation operation when operation.operands().stream().allMatch(ids::containsKey) ->
+                    new Key(operation.operator(), operation.operands().stream().map(ids::get).toList());
+            case Call call when call.arguments().stream().allMatch(ids::containsKey) ->
+                    new Key(call.function() + "()", call.arguments().stream().map(ids::get).toList());
+            default -> null;
+        };
+        if (key == null) {
+            return expression;
+        }
+        Expression existing = interned.putIfAbsent(key, expression);
+        if (existing != null) {
+            return existing;
+        }
+        ids.put(expression, ids.size());
+        return expression;
+    }
+
+    private record Key(String symbol, List<Integer> operands) {
+    }
+}
@@ -0,0 +1,146 @@
+package expressionparser.model;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+public final class ParallelBatchExecutor {
+    private static final int DEFAULT_TASK_ROWS = 64 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int taskRows;
+
+    public ParallelBatchExecutor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TASK_ROWS);
+    }
+
+    public ParallelBatchExecutor(ForkJoinPool pool, int taskRows) {
+        if (taskRows <= 0) {
+            throw new IllegalArgumentException("Task rows must be positive: " + taskRows);
+        }
+        this.pool = pool;
+        this.taskRows = taskRows;
+    }
+
+    public BatchResult evaluate(CompiledExpression expression, float[][] columns, int rows) {
+        return evaluate(List.of(expression), columns, rows).getFirst();
+    }
+
+    public List<BatchResult> evaluate(List<CompiledExpression> expressions, float[][] columns, int rows) {
+        List<FormulaTask> tasks = new ArrayList<>();
+        for (CompiledExpression expression : expressions) {
+            Formula formula = new Formula(expression, rows);
+            formula.validate(columns, rows);
+            tasks.add(new FormulaTask(formula, columns, 0, rows));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        return tasks.stream().map(task -> task.formula.result()).toList();
+    }
+
+    public record BatchResult(float[] output, List<Failure> failures) {
+        public boolean succeeded() {
+            return failures.isEmpty();
+        }
+    }
+
+    public record Failure(int from, int to, String message) {
+    }
+
+    private static final class Formula {
+        private final CompiledExpression expression;
+        private final float[] output;
+        private final Queue<BatchEvaluator> evaluators;
+        private final Queue<Failure> failures;
+
+        private Formula(CompiledExpression expression, int rows) {
+            this.expression = expression;
+            this.output = new float[rows];
+            this.evaluators = new ConcurrentLinkedQueue<>();
+            this.failures = new ConcurrentLinkedQueue<>();
+        }
+
+        private void validate(float[][] columns, int rows) {
+            BatchEvaluator evaluator = BatchEvaluator.vectorized(expression);
+            evaluator.validate(columns, rows);
+            evaluators.add(evaluator);
+        }
+
+        private void evaluate(float[][] columns, int from, int to) {
+            BatchEvaluator evaluator = evaluators.poll();
+            if (evaluator == null) {
+                evaluator = BatchEvaluator.vectorized(expression);
+            }
+            try {
+                evaluator.evaluateRange(columns, output, from, to);
+            } catch (RuntimeException exception) {
+                evaluateRows(evaluator, columns, from, to);
+            } finally {
+                evaluators.add(evaluator);
+            }
+        }
+
+        private void evaluateRows(BatchEvaluator evaluator, float[][] columns, int from, int to) {
+            int failedFrom = from;
+            String failedMessage = null;
+            for (int row = from; row < to; row++) {
+                String message;
+                try {
+                    evaluator.evaluateRange(columns, output, row, row + 1);
+                    message = null;
+                } catch (RuntimeException exception) {
+                    output[row] = Float.NaN;
+                    message = String.valueOf(exception.getMessage());
+                }
+                if (!Objects.equals(message, failedMessage)) {
+                    if (failedMessage != null) {
+                        failures.add(new Failure(failedFrom, row, failedMessage));
+                    }
+                    failedFrom = row;
+                    failedMessage = message;
+                }
+            }
+            if (failedMessage != null) {
+                failures.add(new Failure(failedFrom, to, failedMessage));
+            }
+        }
+
+        private BatchResult result() {
+            List<Failure> sorted = failures.stream().sorted(Comparator.comparingInt(Failure::from)).toList();
+            return new BatchResult(output, sorted);
+        }
+    }
+
+    private final class FormulaTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Formula formula;
+        private final float[][] columns;
+        private final int from;
+        private final int to;
+
+        private FormulaTask(Formula formula, float[][] columns, int from, int to) {
+            this.formula = formula;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= taskRows) {
+                formula.evaluate(columns, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FormulaTask(formula, columns, from, middle), new FormulaTask(formula, columns, middle, to));
+        }
+    }
+}
@@ -1,90 +1,312 @@
 package expressionparser.model;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 
 public class Parser {
+    private static final PrecedenceRange ASSIGNMENT = new PrecedenceRange(0.2f, 0.1f);
+    private static final PrecedenceRange CONDITIONAL = new PrecedenceRange(0.3f, 0.3f);
+    private static final PrecedenceRange LOGICAL_OR = new PrecedenceRange(0.35f, 0.36f);
+    private static final PrecedenceRange LOGICAL_AND = new PrecedenceRange(0.4f, 0.41f);
+    private static final PrecedenceRange COMPARISON = new PrecedenceRange(0.5f, 0.6f);
+    private static final PrecedenceRange ADDITIVE = new PrecedenceRange(1.0f, 1.1f);
+    private static final PrecedenceRange MULTIPLICATIVE = new PrecedenceRange(2.0f, 2.1f);
+
+    private static final String CONDITIONAL_FUNCTION = "if";
+
+    private static final PendingOperator NEGATION = new PendingOperator("-", Float.MAX_VALUE);
+    private static final PendingOperator NOT = new PendingOperator("!", Float.MAX_VALUE);
+    private static final PendingOperator CONDITION = new PendingOperator("?", Float.NEGATIVE_INFINITY);
+    private static final PendingOperator PARENTHESIS = new PendingOperator("(", Float.NEGATIVE_INFINITY);
 
     public static Expression parse(Lexer lexer, float minPrecedence) {
-        return parseExpression(lexer, minPrecedence, false);
+        return parse(lexer, minPrecedence, ParserLimits.UNLIMITED);
+    }
+
+    public static Expression parse(Lexer lexer, ParserLimits limits) {
+        return parse(lexer, 0.0f, limits);
+    }
+
+    public static Expression parse(Lexer lexer, float minPrecedence, ParserLimits limits) {
+        if (lexer.length() > limits.maxLength()) {
+            throw ParserException.at(limits.maxLength(), ErrorCode.MAXIMUM_LENGTH_EXCEEDED, limits.maxLength());
+        }
+        return new State(lexer, limits).parse(minPrecedence);
+    }
+
+    private static PrecedenceRange operatorPrecedence(String operator, Lexer lexer) {
+        if (operator == null) {
+            throw ParserException.at(lexer.start(), ErrorCode.UNKNOWN_OPERATOR, lexer.text());
+        }
+        return switch (operator) {
+            case "=" -> ASSIGNMENT;
+            case "?" -> CONDITIONAL;
+            case "||" -> LOGICAL_OR;
+            case "&&" -> LOGICAL_AND;
+            case "==", "!=", "<", ">", "<=", ">=" -> COMPARISON;
+            case "+", "-" -> ADDITIVE;
+            case "*", "/" -> MULTIPLICATIVE;
+            default -> throw ParserException.at(lexer.start(), ErrorCode.UNKNOWN_OPERATOR, operator);
+        };
     }
 
-    private static Expression parseExpression(Lexer lexer, float minPrecedence, boolean inParentheses) {
-        Expression left = parsePrimary(lexer, inParentheses);
-        while (true) {
-            Token lookahead = lexer.peek();
-            if (shouldStopParsing(lookahead, inParentheses)) {
-                break;
+    private static final class State {
+        private final Lexer lexer;
+        private final ParserLimits limits;
+        private final Deque<Expression> operands;
+        private final Deque<PendingOperator> operators;
+        private final Deque<OpenCall> calls;
+        private int[] operandDepths;
+        private int depth;
+        private int openParentheses;
+        private int openConditions;
+
+        private State(Lexer lexer, ParserLimits limits) {
+            this.lexer = lexer;
+            this.limits = limits;
+            this.operands = new ArrayDeque<>();
+            this.operators = new ArrayDeque<>();
+            this.calls = new ArrayDeque<>();
+            this.operandDepths = new int[16];
+        }
+
+        private Expression parse(float minPrecedence) {
+            while (true) {
+                parsePrimary();
+                while (true) {
+                    if (lexer.type() == Token.TokenType.EOF) {
+                        if (openParentheses > 0) {
+                            throw ParserException.at(lexer.start(), ErrorCode.MISSING_CLOSING_PARENTHESIS);
+                        }
+                        if (openConditions > 0) {
+                            throw ParserException.at(lexer.start(), ErrorCode.MISSING_CONDITIONAL_SEPARATOR);
+                        }
+                        return finish();
+                    }
+                    if (lexer.isOperator(')')) {
+                        closeParenthesis();
+                        continue;
+                    }
+                    if (lexer.type() != Token.TokenType.OPERATOR) {
+                        throw ParserException.at(lexer.start(), ErrorCode.EXPECTED_OPERATOR, lexer.text());
+                    }
+                    if (lexer.isOperator(':')) {
+                        separateConditional();
+                        break;
+                    }
+                    if (lexer.isOperator(',')) {
+                        separateArgument();
+                        break;
+                    }
+                    String operator = lexer.operator();
+                    PrecedenceRange precedenceRange = operatorPrecedence(operator, lexer);
+                    while (!operators.isEmpty() && precedenceRange.left < operators.peek().rightPrecedence) {
+                        reduce();
+                    }
+                    if (operators.isEmpty() && precedenceRange.left < minPrecedence) {
+                        return finish();
+                    }
+                    lexer.advance();
+                    if (precedenceRange == CONDITIONAL) {
+                        open(CONDITION);
+                        openConditions++;
+                    } else {
+                        operators.push(new PendingOperator(operator, precedenceRange.right));
+                    }
+                    break;
+                }
             }
-            if (lookahead.type() != Token.TokenType.OPERATOR) {
-                throw new ParserException("Expected operator, but found: " + lookahead.value());
+        }
+
+        private void parsePrimary() {
+            while (true) {
+                if (lexer.isIdentifier()) {
+                    String name = lexer.text();
+                    int position = lexer.start();
+                    lexer.advance();
+                    if (lexer.isOperator('(')) {
+                        lexer.advance();
+                        OpenCall call = new OpenCall(name, position);
+                        if (!lexer.isOperator(')')) {
+                            open(call.marker);
+                            calls.push(call);
+                            openParentheses++;
+                            continue;
+                        }
+                        lexer.advance();
+                        pushOperand(call.toExpression(List.of()), 1);
+                    } else {
+                        pushOperand(new Atom(name), 1);
+                    }
+                    reduceNegations();
+                    return;
+                }
+                if (lexer.type() == Token.TokenType.ATOM) {
+                    pushOperand(new Atom(lexer.text()), 1);
+                    lexer.advance();
+                    reduceNegations();
+                    return;
+                }
+                if (lexer.isOperator('-')) {
+                    lexer.advance();
+                    open(NEGATION);
+                    continue;
+                }
+                if (lexer.isOperator('!')) {
+                    lexer.advance();
+                    open(NOT);
+                    continue;
+                }
+                if (lexer.isOperator('(')) {
+                    lexer.advance();
+                    open(PARENTHESIS);
+                    openParentheses++;
+                    continue;
+                }
+                throw ParserException.at(lexer.start(), ErrorCode.INVALID_START, lexer.text());
             }
-            PrecedenceRange precedenceRange = operatorPrecedence(lookahead.value());
-            if (precedenceRange.left < minPrecedence) {
-                break;
+        }
+
+        private void closeParenthesis() {
+            if (openParentheses == 0) {
+                throw ParserException.at(lexer.start(), ErrorCode.UNEXPECTED_CLOSING_PARENTHESIS);
+            }
+            while (!isGroup(operators.peek())) {
+                if (operators.peek() == CONDITION) {
+                    throw ParserException.at(lexer.start(), ErrorCode.MISSING_CONDITIONAL_SEPARATOR);
+                }
+                reduce();
+            }
+            if (operators.pop() != PARENTHESIS) {
+                OpenCall call = calls.pop();
+                Expression[] arguments = new Expression[call.separators + 1];
+                int argumentDepth = 0;
+                for (int i = arguments.length - 1; i >= 0; i--) {
+                    argumentDepth = Math.max(argumentDepth, topDepth());
+                    arguments[i] = operands.pop();
+                }
+                pushOperand(call.toExpression(List.of(arguments)), argumentDepth + 1);
             }
-            lexer.next();
-            Expression right = parseExpression(lexer, precedenceRange.right, inParentheses);
-            left = new Operation(lookahead.value(), List.of(left, right));
+            depth--;
+            openParentheses--;
+            lexer.advance();
+            reduceNegations();
         }
 
-        return left;
-    }
+        private void separateArgument() {
+            while (calls.isEmpty() || operators.peek() != calls.peek().marker) {
+                if (operators.isEmpty() || operators.peek() == PARENTHESIS) {
+                    throw ParserException.at(lexer.start(), ErrorCode.UNEXPECTED_ARGUMENT_SEPARATOR);
+                }
+                if (operators.peek() == CONDITION) {
+                    throw ParserException.at(lexer.start(), ErrorCode.MISSING_CONDITIONAL_SEPARATOR);
+                }
+                reduce();
+            }
+            calls.peek().separators++;
+            lexer.advance();
+        }
 
-    private static Expression parsePrimary(Lexer lexer, boolean inParentheses) {
-        Token nextToken = lexer.next();
-        return switch (nextToken) {
-            case Token token when token.type() == Token.TokenType.ATOM -> new Atom(token.value());
+        private boolean isGroup(PendingOperator operator) {
+            return operator == PARENTHESIS || (!calls.isEmpty() && operator == calls.peek().marker);
+        }
 
-            case Token token when token.type() == Token.TokenType.OPERATOR && token.value().equals("-") -> {
-                Expression operand = parseExpression(lexer, 3.0f, inParentheses);
-                yield new Operation("-", List.of(operand));
+        private void separateConditional() {
+            while (operators.peek() != CONDITION) {
+                if (operators.isEmpty() || isGroup(operators.peek())) {
+                    throw ParserException.at(lexer.start(), ErrorCode.UNEXPECTED_CONDITIONAL_SEPARATOR);
+                }
+                reduce();
             }
+            operators.pop();
+            depth--;
+            openConditions--;
+            lexer.advance();
+            operators.push(new PendingOperator(":", CONDITIONAL.right));
+        }
 
-            case Token token when token.type() == Token.TokenType.OPERATOR && token.value().equals("(") -> {
-                Expression inner = parseExpression(lexer, 0.0f, true);
-                expectClosingParenthesis(lexer);
-                yield inner;
+        private void open(PendingOperator operator) {
+            if (++depth > limits.maxDepth()) {
+                throw ParserException.at(lexer.start(), ErrorCode.MAXIMUM_DEPTH_EXCEEDED, limits.maxDepth());
             }
+            operators.push(operator);
+        }
 
-            default -> throw new ParserException("Invalid start of expression: " + nextToken.value());
-        };
-    }
+        private void pushOperand(Expression operand, int operandDepth) {
+            if (operandDepth > limits.maxDepth()) {
+                throw ParserException.at(lexer.start(), ErrorCode.MAXIMUM_DEPTH_EXCEEDED, limits.maxDepth());
+            }
+            if (operands.size() == operandDepths.length) {
+                operandDepths = Arrays.copyOf(operandDepths, operandDepths.length * 2);
+            }
+            operandDepths[operands.size()] = operandDepth;
+            operands.push(operand);
+        }
+
+        private int topDepth() {
+            return operandDepths[operands.size() - 1];
+        }
 
-    private static boolean shouldStopParsing(Token token, boolean inParentheses) {
-        if (token == Token.EOF) {
-            if (inParentheses) {
-                throw new ParserException("Expected ')', but reached end of input");
+        private void reduceNegations() {
+            while (operators.peek() == NEGATION || operators.peek() == NOT) {
+                PendingOperator operator = operators.pop();
+                depth--;
+                int operandDepth = topDepth();
+                pushOperand(new Operation(operator.symbol, List.of(operands.pop())), operandDepth + 1);
             }
-            return true;
         }
 
-        if (token.type() == Token.TokenType.OPERATOR && token.value().equals(")")) {
-            if (!inParentheses) {
-                throw new ParserException("Unexpected ')'");
+        private void reduce() {
+            PendingOperator operator = operators.pop();
+            int operandDepth = topDepth();
+            Expression right = operands.pop();
+            operandDepth = Math.max(operandDepth, topDepth());
+            Expression left = operands.pop();
+            if (operator.symbol.equals(":")) {
+                operandDepth = Math.max(operandDepth, topDepth());
+                Expression condition = operands.pop();
+                pushOperand(new Operation("?", List.of(condition, left, right)), operandDepth + 1);
+                return;
             }
-            return true;
+            pushOperand(new Operation(operator.symbol, List.of(left, right)), operandDepth + 1);
         }
 
-        return false;
+        private Expression finish() {
+            while (!operators.isEmpty()) {
+                reduce();
+            }
+            return operands.pop();
+        }
     }
 
-    private static void expectClosingParenthesis(Lexer lexer) {
-        Token closing = lexer.next();
-        if (closing.type() != Token.TokenType.OPERATOR || !closing.value().equals(")")) {
-            throw new ParserException("Expected ')', but found: " + closing.value());
-        }
+    private record PendingOperator(String symbol, float rightPrecedence) {
     }
 
-    private static PrecedenceRange operatorPrecedence(String operator) {
-        return switch (operator) {
-            case "=" -> new PrecedenceRange(0.2f, 0.1f);
-            case "==", "!=", "<", ">", "<=", ">=" -> new PrecedenceRange(0.5f, 0.6f);
-            case "+", "-" -> new PrecedenceRange(1.0f, 1.1f);
-            case "*", "/" -> new PrecedenceRange(2.0f, 2.1f);
-            default -> throw new ParserException("Unknown operator: '" + operator + "'");
-        };
+    private static final class OpenCall {
+        private final String function;
+        private final int position;
+        private final PendingOperator marker;
+        private int separators;
+
+        private OpenCall(String function, int position) {
+            this.function = function;
+            this.position = position;
+            this.marker = new PendingOperator(function, Float.NEGATIVE_INFINITY);
+        }
+
+        private Expression toExpression(List<Expression> arguments) {
+            if (!function.equals(CONDITIONAL_FUNCTION)) {
+                return new Call(function, arguments);
+            }
+            if (arguments.size() != 3) {
+                throw ParserException.at(position, ErrorCode.INVALID_ARGUMENT_COUNT, arguments.size(), function);
+            }
+            return new Operation("?", arguments);
+        }
     }
 
     private record PrecedenceRange(float left, float right) {
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,58 @@
 package expressionparser.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
 public class ParserException extends RuntimeException {
+    public static final int NO_POSITION = -1;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorCode code;
+    private final int position;
+    private final transient Object[] arguments;
+    private String message;
 
     public ParserException(String message) {
-        super(message);
+        this(ErrorCode.GENERIC, NO_POSITION, new Object[]{message});
+    }
+
+    public ParserException(ErrorCode code, Object... arguments) {
+        this(code, NO_POSITION, arguments);
+    }
+
+    private ParserException(ErrorCode code, int position, Object[] arguments) {
+        super(null, null, false, false);
+        this.code = code;
+        this.position = position;
+        this.arguments = arguments;
+    }
+
+    public static ParserException at(int position, ErrorCode code, Object... arguments) {
+        return new ParserException(code, position, arguments);
+    }
+
+    public ErrorCode code() {
+        return code;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = code.format(arguments);
+        }
+        return message;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream output) throws IOException {
+        getMessage();
+        output.defaultWriteObject();
     }
 }
@@ -0,0 +1,11 @@
+package expressionparser.model;
+
+public record ParserLimits(int maxDepth, int maxLength) {
+    public static final ParserLimits UNLIMITED = new ParserLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    public ParserLimits {
+        if (maxDepth <= 0 || maxLength <= 0) {
+            throw new IllegalArgumentException("Parser limits must be positive");
+        }
+    }
+}
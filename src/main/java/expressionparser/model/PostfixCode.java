@@ -0,0 +1,567 @@
+package expressionparser.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class PostfixCode implements Evaluator {
+    static final int LOAD_CONSTANT = 0;
+    static final int LOAD_VARIABLE = 1;
+    static final int NEGATE = 2;
+    static final int ADD = 3;
+    static final int SUBTRACT = 4;
+    static final int MULTIPLY = 5;
+    static final int DIVIDE = 6;
+    static final int EQUAL = 7;
+    static final int NOT_EQUAL = 8;
+    static final int LESS = 9;
+    static final int GREATER = 10;
+    static final int LESS_OR_EQUAL = 11;
+    static final int GREATER_OR_EQUAL = 12;
+    static final int LOAD_TEMPORARY = 13;
+    static final int STORE_TEMPORARY = 14;
+    static final int NOT = 15;
+    static final int TRUTH = 16;
+    static final int JUMP = 17;
+    static final int JUMP_IF_FALSE = 18;
+    static final int CALL = 19;
+    static final int LOAD_CHECKED_VARIABLE = 20;
+
+    private static final int UNDEFINED_BITS = 0x7fc0_0001;
+    static final float UNDEFINED = Float.intBitsToFloat(UNDEFINED_BITS);
+    private static final int OPCODE_BITS = 8;
+    private static final int OPCODE_MASK = (1 << OPCODE_BITS) - 1;
+    private static final int MAX_OPERAND = (1 << (Integer.SIZE - OPCODE_BITS)) - 1;
+
+    private final SymbolTable symbols;
+    private final int[] code;
+    private final float[] constants;
+    private final CallSite[] calls;
+    private final int maxStack;
+    private final int temporaries;
+    private final int[] lazySlots;
+
+    private PostfixCode(SymbolTable symbols, Lowering lowering, float[] constants) {
+        this.symbols = symbols;
+        this.code = lowering.code();
+        this.constants = constants;
+        this.calls = lowering.calls();
+        this.maxStack = lowering.maxStack();
+        this.temporaries = lowering.temporaries();
+        this.lazySlots = lowering.lazySlots();
+    }
+
+    static PostfixCode compile(Expression expression, SymbolTable symbols, Set<Integer> slots) {
+        FloatConstants constants = new FloatConstants();
+        Lowering lowering = lower(expression, symbols, slots, constants);
+        return new PostfixCode(symbols, lowering, constants.values());
+    }
+
+    static Lowering lower(Expression expression, SymbolTable symbols, Set<Integer> slots, ConstantPool constants) {
+        Builder builder = new Builder();
+        Map<Expression, Integer> uses = countUses(expression);
+        symbols.defineAll(variableNames(expression));
+        Set<Expression> unconditional = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Expression> conditional = conditionallyEvaluated(expression, unconditional);
+        Set<Integer> required = new HashSet<>();
+        Set<Integer> lazy = new LinkedHashSet<>();
+        Map<Expression, Integer> temporaries = new IdentityHashMap<>();
+        Deque<Expression> pending = new ArrayDeque<>();
+        Deque<Integer> stages = new ArrayDeque<>();
+        Deque<Integer> jumps = new ArrayDeque<>();
+        pending.push(expression);
+        stages.push(0);
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
+            int stage = stages.pop();
+            switch (current) {
+                case Atom atom when atom.isNumber() -> builder.emit(LOAD_CONSTANT, constants.indexOf(atom.value()), 1);
+                case Atom atom when atom.isVariable() -> {
+                    int slot = symbols.slotOf(atom.value());
+                    slots.add(slot);
+                    if (unconditional.contains(atom)) {
+                        required.add(slot);
+                        builder.emit(LOAD_VARIABLE, slot, 1);
+                    } else {
+                        lazy.add(slot);
+                        builder.emit(LOAD_CHECKED_VARIABLE, slot, 1);
+                    }
+                }
+                case Atom atom -> throw new ParserException(ErrorCode.INVALID_ATOM, atom.value());
+                case Expression node when stage == 0 && temporaries.containsKey(node) ->
+                        builder.emit(LOAD_TEMPORARY, temporaries.get(node), 1);
+                case Expression node when stage == children(node).size() -> {
+                    switch (node) {
+                        case Operation operation when isLazy(operation) -> builder.completeBranch(operation, jumps, constants);
+                        case Operation operation -> builder.emitOperation(operation);
+                        case Call call -> builder.emitCall(symbols.functions().resolve(call.function(), stage), stage);
+                        default -> throw new ParserException(ErrorCode.UNSUPPORTED_EXPRESSION, node);
+                    }
+                    if (uses.get(node) > 1 && !conditional.contains(node)) {
+                        int temporary = temporaries.size();
+                        temporaries.put(node, temporary);
+                        builder.emit(STORE_TEMPORARY, temporary, 0);
+                    }
+                }
+                case Operation operation when isLazy(operation) -> {
+                    if (stage > 0) {
+                        builder.emitBranch(operation, stage, jumps, constants);
+                    }
+                    pending.push(operation);
+                    stages.push(stage + 1);
+                    pending.push(operation.operands().get(stage));
+                    stages.push(0);
+                }
+                case Expression node -> {
+                    List<Expression> children = children(node);
+                    pending.push(node);
+                    stages.push(children.size());
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        pending.push(children.get(i));
+                        stages.push(0);
+                    }
+                }
+            }
+        }
+        lazy.removeAll(required);
+        return builder.build(temporaries.size(), lazy.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static List<Expression> children(Expression expression) {
+        return switch (expression) {
+            case Operation operation -> operation.operands();
+            case Call call -> call.arguments();
+            default -> List.of();
+        };
+    }
+
+    private static boolean isLazy(Operation operation) {
+        return switch (operation.operator()) {
+            case "&&", "||" -> operation.operands().size() == 2;
+            case "?" -> operation.operands().size() == 3;
+            default -> false;
+        };
+    }
+
+    private static Set<Expression> conditionallyEvaluated(Expression expression, Set<Expression> visited) {
+        Set<Expression> conditional = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Expression> pending = new ArrayDeque<>();
+        Deque<Boolean> branches = new ArrayDeque<>();
+        pending.push(expression);
+        branches.push(false);
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
+            boolean branch = branches.pop();
+            boolean first = branch ? conditional.add(current) : visited.add(current);
+            if (first) {
+                List<Expression> children = children(current);
+                boolean lazy = current instanceof Operation operation && isLazy(operation);
+                for (int i = 0; i < children.size(); i++) {
+                    pending.push(children.get(i));
+                    branches.push(branch || (i > 0 && lazy));
+                }
+            }
+        }
+        return conditional;
+    }
+
+    private static Set<String> variableNames(Expression expression) {
+        Set<String> names = new LinkedHashSet<>();
+        Set<Expression> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
+            if (current instanceof Atom atom && atom.isVariable()) {
+                names.add(atom.value());
+            } else if (visited.add(current)) {
+                List<Expression> children = children(current);
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    pending.push(children.get(i));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Map<Expression, Integer> countUses(Expression expression) {
+        Map<Expression, Integer> uses = new IdentityHashMap<>();
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
+            if (uses.merge(current, 1, Integer::sum) == 1) {
+                children(current).forEach(pending::push);
+            }
+        }
+        return uses;
+    }
+
+    static int opcode(int instruction) {
+        return instruction & OPCODE_MASK;
+    }
+
+    static int operand(int instruction) {
+        return instruction >>> OPCODE_BITS;
+    }
+
+    static Operator binaryOperator(int opcode) {
+        return Operator.values()[opcode - ADD];
+    }
+
+    int[] code() {
+        return code;
+    }
+
+    float[] constants() {
+        return constants;
+    }
+
+    CallSite[] calls() {
+        return calls;
+    }
+
+    int maxStack() {
+        return maxStack;
+    }
+
+    int temporaries() {
+        return temporaries;
+    }
+
+    int[] lazySlots() {
+        return lazySlots;
+    }
+
+    String name(int slot) {
+        return symbols.name(slot);
+    }
+
+    static float checkDefined(float value, String name) {
+        if (Float.floatToRawIntBits(value) == UNDEFINED_BITS) {
+            throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, name);
+        }
+        return value;
+    }
+
+    @Override
+    public float eval(float[] frame) {
+        Scratch scratch = Scratch.acquire();
+        try {
+            return eval(frame, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    float eval(float[] frame, Scratch scratch) {
+        float[] stack = scratch.floats(maxStack + temporaries);
+        int top = -1;
+        for (int pc = 0; pc < code.length; pc++) {
+            int instruction = code[pc];
+            switch (instruction & OPCODE_MASK) {
+                case LOAD_CONSTANT -> stack[++top] = constants[instruction >>> OPCODE_BITS];
+                case LOAD_VARIABLE -> stack[++top] = frame[instruction >>> OPCODE_BITS];
+                case LOAD_CHECKED_VARIABLE -> {
+                    int slot = instruction >>> OPCODE_BITS;
+                    stack[++top] = checkDefined(frame[slot], symbols.name(slot));
+                }
+                case NEGATE -> stack[top] = -stack[top];
+                case ADD -> {
+                    top--;
+                    stack[top] = stack[top] + stack[top + 1];
+                }
+                case SUBTRACT -> {
+                    top--;
+                    stack[top] = stack[top] - stack[top + 1];
+                }
+                case MULTIPLY -> {
+                    top--;
+                    stack[top] = stack[top] * stack[top + 1];
+                }
+                case DIVIDE -> {
+                    top--;
+                    stack[top] = Operator.divide(stack[top], stack[top + 1]);
+                }
+                case EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] == stack[top + 1] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                }
+                case NOT_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] != stack[top + 1] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                }
+                case LESS -> {
+                    top--;
+                    stack[top] = stack[top] < stack[top + 1] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                }
+                case GREATER -> {
+                    top--;
+                    stack[top] = stack[top] > stack[top + 1] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                }
+                case LESS_OR_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] <= stack[top + 1] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                }
+                case GREATER_OR_EQUAL -> {
+                    top--;
+                    stack[top] = stack[top] >= stack[top + 1] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                }
+                case LOAD_TEMPORARY -> stack[++top] = stack[maxStack + (instruction >>> OPCODE_BITS)];
+                case STORE_TEMPORARY -> stack[maxStack + (instruction >>> OPCODE_BITS)] = stack[top];
+                case NOT -> stack[top] = stack[top] == 0 ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                case TRUTH -> stack[top] = stack[top] != 0 ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+                case JUMP -> pc = (instruction >>> OPCODE_BITS) - 1;
+                case JUMP_IF_FALSE -> {
+                    if (stack[top--] == 0) {
+                        pc = (instruction >>> OPCODE_BITS) - 1;
+                    }
+                }
+                case CALL -> {
+                    CallSite call = calls[instruction >>> OPCODE_BITS];
+                    top -= call.arguments() - 1;
+                    stack[top] = call.invoke(stack, top, scratch);
+                }
+                default -> throw new ParserException(ErrorCode.INVALID_INSTRUCTION, instruction);
+            }
+        }
+        return stack[0];
+    }
+
+    private static final class Builder {
+        private final List<CallSite> calls = new ArrayList<>();
+        private int[] code = new int[16];
+        private int length;
+        private int stackDepth;
+        private int maxStack;
+
+        private void emitOperation(Operation operation) {
+            List<Expression> operands = operation.operands();
+            switch (operands.size()) {
+                case 1 -> emit(switch (operation.operator()) {
+                    case "-" -> NEGATE;
+                    case "!" -> NOT;
+                    default -> throw new ParserException(ErrorCode.UNKNOWN_UNARY_OPERATOR, operation.operator());
+                }, 0, 0);
+                case 2 -> emit(ADD + Operator.binary(operation.operator()).ordinal(), 0, -1);
+                default -> throw new ParserException(ErrorCode.INVALID_OPERAND_COUNT, operands.size(), operation.operator());
+            }
+        }
+
+        private void emitBranch(Operation operation, int stage, Deque<Integer> jumps, ConstantPool constants) {
+            switch (operation.operator()) {
+                case "?" -> {
+                    if (stage == 1) {
+                        jumps.push(emitJump(JUMP_IF_FALSE));
+                    } else {
+                        int otherwise = jumps.pop();
+                        jumps.push(emitJump(JUMP));
+                        patch(otherwise);
+                    }
+                }
+                case "&&" -> jumps.push(emitJump(JUMP_IF_FALSE));
+                case "||" -> {
+                    int otherwise = emitJump(JUMP_IF_FALSE);
+                    emit(LOAD_CONSTANT, constants.indexOf("1"), 1);
+                    jumps.push(emitJump(JUMP));
+                    patch(otherwise);
+                }
+                default -> throw new ParserException(ErrorCode.UNKNOWN_BINARY_OPERATOR, operation.operator());
+            }
+        }
+
+        private void completeBranch(Operation operation, Deque<Integer> jumps, ConstantPool constants) {
+            switch (operation.operator()) {
+                case "?" -> patch(jumps.pop());
+                case "&&" -> {
+                    emit(TRUTH, 0, 0);
+                    int otherwise = jumps.pop();
+                    int end = emitJump(JUMP);
+                    patch(otherwise);
+                    emit(LOAD_CONSTANT, constants.indexOf("0"), 1);
+                    patch(end);
+                }
+                case "||" -> {
+                    emit(TRUTH, 0, 0);
+                    patch(jumps.pop());
+                }
+                default -> throw new ParserException(ErrorCode.UNKNOWN_BINARY_OPERATOR, operation.operator());
+            }
+        }
+
+        private void emitCall(FunctionRegistry.Definition function, int arguments) {
+            emit(CALL, calls.size(), 1 - arguments);
+            calls.add(new CallSite(function, arguments));
+        }
+
+        private int emitJump(int opcode) {
+            emit(opcode, 0, -1);
+            return length - 1;
+        }
+
+        private void patch(int jump) {
+            if (length > MAX_OPERAND) {
+                throw new ParserException(ErrorCode.EXPRESSION_TOO_LARGE);
+            }
+            code[jump] |= length << OPCODE_BITS;
+        }
+
+        private void emit(int opcode, int operand, int stackEffect) {
+            if (operand > MAX_OPERAND) {
+                throw new ParserException(ErrorCode.EXPRESSION_TOO_LARGE);
+            }
+            if (length == code.length) {
+                code = Arrays.copyOf(code, length * 2);
+            }
+            code[length++] = operand << OPCODE_BITS | opcode;
+            stackDepth += stackEffect;
+            maxStack = Math.max(maxStack, stackDepth);
+        }
+
+        private Lowering build(int temporaries, int[] lazySlots) {
+            return new Lowering(Arrays.copyOf(code, length), calls.toArray(CallSite[]::new), maxStack, temporaries, lazySlots);
+        }
+    }
+
+    interface ConstantPool {
+        int indexOf(String literal);
+    }
+
+    record Lowering(int[] code, CallSite[] calls, int maxStack, int temporaries, int[] lazySlots) {
+    }
+
+    record CallSite(FunctionRegistry.Definition function, int arguments) {
+        float invoke(float[] stack, int from, Scratch scratch) {
+            return (float) switch (function) {
+                case FunctionRegistry.Unary unary -> unary.function().applyAsDouble(stack[from]);
+                case FunctionRegistry.Binary binary -> binary.function().applyAsDouble(stack[from], stack[from + 1]);
+                case FunctionRegistry.Variadic variadic -> {
+                    double[] values = scratch.arguments(arguments);
+                    for (int i = 0; i < arguments; i++) {
+                        values[i] = stack[from + i];
+                    }
+                    yield variadic.function().apply(values);
+                }
+            };
+        }
+
+        double invoke(double[] stack, int from, Scratch scratch) {
+            return switch (function) {
+                case FunctionRegistry.Unary unary -> unary.function().applyAsDouble(stack[from]);
+                case FunctionRegistry.Binary binary -> binary.function().applyAsDouble(stack[from], stack[from + 1]);
+                case FunctionRegistry.Variadic variadic -> {
+                    double[] values = scratch.arguments(arguments);
+                    System.arraycopy(stack, from, values, 0, arguments);
+                    yield variadic.function().apply(values);
+                }
+            };
+        }
+    }
+
+    static final class Scratch {
+        static final int MAX_RETAINED = 1 << 12;
+        private static final ThreadLocal<Scratch> CURRENT = ThreadLocal.withInitial(Scratch::new);
+
+        private float[] floats = new float[0];
+        private double[] doubles = new double[0];
+        private long[] longs = new long[0];
+        private double[][] arguments = new double[0][];
+        private boolean inUse;
+
+        static Scratch acquire() {
+            Scratch scratch = CURRENT.get();
+            if (scratch.inUse) {
+                return new Scratch();
+            }
+            scratch.inUse = true;
+            return scratch;
+        }
+
+        void release() {
+            inUse = false;
+        }
+
+        float[] floats(int size) {
+            if (size > floats.length) {
+                if (size > MAX_RETAINED) {
+                    return new float[size];
+                }
+                floats = new float[size];
+            }
+            return floats;
+        }
+
+        float store(int index, float value) {
+            floats[index] = value;
+            return value;
+        }
+
+        float load(int index) {
+            return floats[index];
+        }
+
+        double[] doubles(int size) {
+            if (size > doubles.length) {
+                if (size > MAX_RETAINED) {
+                    return new double[size];
+                }
+                doubles = new double[size];
+            }
+            return doubles;
+        }
+
+        long[] longs(int size) {
+            if (size > longs.length) {
+                if (size > MAX_RETAINED) {
+                    return new long[size];
+                }
+                longs = new long[size];
+            }
+            return longs;
+        }
+
+        double[] arguments(int count) {
+            if (count > MAX_RETAINED) {
+                return new double[count];
+            }
+            if (count >= arguments.length) {
+                arguments = Arrays.copyOf(arguments, count + 1);
+            }
+            if (arguments[count] == null) {
+                arguments[count] = new double[count];
+            }
+            return arguments[count];
+        }
+    }
+
+    private static final class FloatConstants implements ConstantPool {
+        private final Map<Integer, Integer> indexes = new HashMap<>();
+        private float[] values = new float[4];
+        private int count;
+
+        @Override
+        public int indexOf(String literal) {
+            float value = Float.parseFloat(literal);
+            return indexes.computeIfAbsent(Float.floatToRawIntBits(value), bits -> {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count] = value;
+                return count++;
+            });
+        }
+
+        private float[] values() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+}
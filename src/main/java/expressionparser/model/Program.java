@@ -0,0 +1,109 @@
+package expressionparser.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class Program {
+    private final SymbolTable symbols;
+    private final CompiledExpression[] statements;
+    private final int[] inputs;
+    private final int[] outputs;
+
+    private Program(SymbolTable symbols, CompiledExpression[] statements, int[] inputs, int[] outputs) {
+        this.symbols = symbols;
+        this.statements = statements;
+        this.inputs = inputs;
+        this.outputs = outputs;
+    }
+
+    public static Program compile(String script, String... outputs) {
+        return compile(script, new FunctionRegistry(), outputs);
+    }
+
+    public static Program compile(String script, FunctionRegistry functions, String... outputs) {
+        SymbolTable symbols = new SymbolTable(functions);
+        List<CompiledExpression> statements = new ArrayList<>();
+        Set<Integer> inputs = new LinkedHashSet<>();
+        Set<Integer> targets = new LinkedHashSet<>();
+        BitSet assigned = new BitSet();
+        for (String statement : script.split("[;\n]")) {
+            if (statement.isBlank()) {
+                continue;
+            }
+            CompiledExpression expression = CompiledExpression.compile(Expression.fromString(statement), symbols);
+            if (expression.targetSlot() < 0) {
+                throw new ParserException(ErrorCode.STATEMENT_NOT_ASSIGNMENT, statements.size() + 1, statement.strip());
+            }
+            for (int slot : expression.slots()) {
+                if (!assigned.get(slot)) {
+                    inputs.add(slot);
+                }
+            }
+            assigned.set(expression.targetSlot());
+            targets.add(expression.targetSlot());
+            statements.add(expression);
+        }
+        int[] outputSlots = outputs.length == 0
+                ? targets.stream().mapToInt(Integer::intValue).toArray()
+                : Arrays.stream(outputs).mapToInt(name -> outputSlot(symbols, assigned, inputs, name)).toArray();
+        return new Program(symbols, statements.toArray(CompiledExpression[]::new),
+                inputs.stream().mapToInt(Integer::intValue).toArray(), outputSlots);
+    }
+
+    private static int outputSlot(SymbolTable symbols, BitSet assigned, Set<Integer> inputs, String name) {
+        int slot = symbols.indexOf(name);
+        if (slot < 0 || (!assigned.get(slot) && !inputs.contains(slot))) {
+            throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, name);
+        }
+        return slot;
+    }
+
+    public List<String> inputs() {
+        return Arrays.stream(inputs).mapToObj(symbols::name).toList();
+    }
+
+    public List<String> outputs() {
+        return Arrays.stream(outputs).mapToObj(symbols::name).toList();
+    }
+
+    public Map<String, Float> run(Map<String, Float> values) {
+        float[] arguments = new float[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            Float value = values.get(symbols.name(inputs[i]));
+            if (value == null) {
+                throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(inputs[i]));
+            }
+            arguments[i] = value;
+        }
+        float[] results = run(arguments);
+        Map<String, Float> named = new LinkedHashMap<>();
+        for (int i = 0; i < outputs.length; i++) {
+            named.put(symbols.name(outputs[i]), results[i]);
+        }
+        return named;
+    }
+
+    public float[] run(float... arguments) {
+        if (arguments.length != inputs.length) {
+            throw new IllegalArgumentException("Expected " + inputs.length + " inputs " + inputs() + ", but got " + arguments.length);
+        }
+        float[] frame = new float[symbols.size()];
+        for (int i = 0; i < inputs.length; i++) {
+            frame[inputs[i]] = arguments[i];
+        }
+        for (CompiledExpression statement : statements) {
+            frame[statement.targetSlot()] = statement.eval(frame);
+        }
+        float[] results = new float[outputs.length];
+        for (int i = 0; i < outputs.length; i++) {
+            results[i] = frame[outputs[i]];
+        }
+        return results;
+    }
+}
@@ -0,0 +1,167 @@
+package expressionparser.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+public final class ReactiveInterpreter {
+    private final SymbolTable symbols;
+    private final Scope scope;
+    private final Function<String, CompiledExpression> compiler;
+    private final List<Cell> cells;
+
+    public ReactiveInterpreter() {
+        this.symbols = new SymbolTable();
+        this.scope = new Scope(symbols);
+        this.compiler = input -> CompiledExpression.compile(Expression.fromString(input), symbols);
+        this.cells = new ArrayList<>();
+    }
+
+    public ReactiveInterpreter(ExpressionCache cache) {
+        this.symbols = cache.symbols();
+        this.scope = new Scope(symbols);
+        this.compiler = cache::get;
+        this.cells = new ArrayList<>();
+    }
+
+    public Interpreter.Result execute(String input) {
+        try {
+            CompiledExpression expression = compiler.apply(input);
+            return expression.targetSlot() >= 0
+                    ? define(expression)
+                    : Interpreter.Result.success(expression.eval(scope));
+        } catch (ParserException exception) {
+            return Interpreter.Result.failure(exception);
+        } catch (Exception exception) {
+            return Interpreter.Result.failure(new ParserException(ErrorCode.UNEXPECTED, exception.getMessage()));
+        }
+    }
+
+    public void set(String name, float value) {
+        int slot = symbols.slotOf(name);
+        Cell cell = cell(slot);
+        detach(slot, cell);
+        cell.formula = null;
+        scope.set(slot, value);
+        recompute(slot);
+    }
+
+    public Map<String, Float> variables() {
+        return scope.toMap();
+    }
+
+    private Interpreter.Result define(CompiledExpression formula) {
+        int target = formula.targetSlot();
+        Set<Integer> downstream = downstreamOf(target);
+        for (int input : formula.slots()) {
+            if (downstream.contains(input)) {
+                throw new ParserException(ErrorCode.CIRCULAR_DEPENDENCY, symbols.name(target));
+            }
+        }
+        Cell cell = cell(target);
+        detach(target, cell);
+        cell.formula = formula;
+        for (int input : formula.slots()) {
+            cell(input).dependents.add(target);
+        }
+        Optional<ParserException> error = recompute(target);
+        if (error.isPresent()) {
+            return Interpreter.Result.failure(error.get());
+        }
+        return Interpreter.Result.success(symbols.name(target), scope.get(symbols.name(target)));
+    }
+
+    private Optional<ParserException> recompute(int changed) {
+        ParserException error = null;
+        for (int slot : topologicalOrder(changed)) {
+            CompiledExpression formula = cells.get(slot).formula;
+            if (formula == null) {
+                continue;
+            }
+            try {
+                scope.set(slot, formula.eval(scope));
+            } catch (ParserException exception) {
+                scope.clear(slot);
+                if (slot == changed) {
+                    error = exception;
+                }
+            } catch (Exception exception) {
+                scope.clear(slot);
+                if (slot == changed) {
+                    error = new ParserException(ErrorCode.UNEXPECTED, exception.getMessage());
+                }
+            }
+        }
+        return Optional.ofNullable(error);
+    }
+
+    private List<Integer> topologicalOrder(int changed) {
+        Set<Integer> affected = downstreamOf(changed);
+        Map<Integer, Integer> pendingInputs = new HashMap<>();
+        for (int slot : affected) {
+            int count = 0;
+            CompiledExpression formula = cells.get(slot).formula;
+            if (formula != null && slot != changed) {
+                for (int input : formula.slots()) {
+                    if (affected.contains(input)) {
+                        count++;
+                    }
+                }
+            }
+            pendingInputs.put(slot, count);
+        }
+        List<Integer> order = new ArrayList<>(affected.size());
+        Deque<Integer> ready = new ArrayDeque<>();
+        ready.add(changed);
+        while (!ready.isEmpty()) {
+            int slot = ready.poll();
+            order.add(slot);
+            for (int dependent : cells.get(slot).dependents) {
+                if (pendingInputs.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private Set<Integer> downstreamOf(int slot) {
+        Set<Integer> reachable = new LinkedHashSet<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(slot);
+        while (!pending.isEmpty()) {
+            int current = pending.pop();
+            if (reachable.add(current) && current < cells.size()) {
+                cells.get(current).dependents.forEach(pending::push);
+            }
+        }
+        return reachable;
+    }
+
+    private void detach(int slot, Cell cell) {
+        if (cell.formula != null) {
+            for (int input : cell.formula.slots()) {
+                cells.get(input).dependents.remove(slot);
+            }
+        }
+    }
+
+    private Cell cell(int slot) {
+        while (cells.size() <= slot) {
+            cells.add(new Cell());
+        }
+        return cells.get(slot);
+    }
+
+    private static final class Cell {
+        private CompiledExpression formula;
+        private final Set<Integer> dependents = new LinkedHashSet<>();
+    }
+}
@@ -0,0 +1,107 @@
+package expressionparser.model;
+
+final class ScalarKernels implements ColumnKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public void negate(float[] operand, int operandOffset, float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = -operand[operandOffset + i];
+        }
+    }
+
+    @Override
+    public void apply(Operator operator, float[] left, int leftOffset, float[] right, int rightOffset,
+                      float[] output, int outputOffset, int length) {
+        switch (operator) {
+            case ADD -> add(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case SUBTRACT -> subtract(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case MULTIPLY -> multiply(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case DIVIDE -> divide(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case EQUAL -> equal(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case NOT_EQUAL -> notEqual(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case LESS -> less(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case GREATER -> greater(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case LESS_OR_EQUAL -> lessOrEqual(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case GREATER_OR_EQUAL -> greaterOrEqual(left, leftOffset, right, rightOffset, output, outputOffset, length);
+        }
+    }
+
+    private static void add(float[] left, int leftOffset, float[] right, int rightOffset,
+                            float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] + right[rightOffset + i];
+        }
+    }
+
+    private static void subtract(float[] left, int leftOffset, float[] right, int rightOffset,
+                                 float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] - right[rightOffset + i];
+        }
+    }
+
+    private static void multiply(float[] left, int leftOffset, float[] right, int rightOffset,
+                                 float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] * right[rightOffset + i];
+        }
+    }
+
+    private static void divide(float[] left, int leftOffset, float[] right, int rightOffset,
+                               float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (right[rightOffset + i] == 0) {
+                throw Operator.DIVISION_BY_ZERO;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] / right[rightOffset + i];
+        }
+    }
+
+    private static void equal(float[] left, int leftOffset, float[] right, int rightOffset,
+                              float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] == right[rightOffset + i] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private static void notEqual(float[] left, int leftOffset, float[] right, int rightOffset,
+                                 float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] != right[rightOffset + i] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private static void less(float[] left, int leftOffset, float[] right, int rightOffset,
+                             float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] < right[rightOffset + i] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private static void greater(float[] left, int leftOffset, float[] right, int rightOffset,
+                                float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] > right[rightOffset + i] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private static void lessOrEqual(float[] left, int leftOffset, float[] right, int rightOffset,
+                                    float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] <= right[rightOffset + i] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+
+    private static void greaterOrEqual(float[] left, int leftOffset, float[] right, int rightOffset,
+                                       float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = left[leftOffset + i] >= right[rightOffset + i] ? Operator.TRUE_VALUE : Operator.FALSE_VALUE;
+        }
+    }
+}
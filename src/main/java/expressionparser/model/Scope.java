@@ -0,0 +1,127 @@
+package expressionparser.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class Scope {
+    private final SymbolTable symbols;
+    private final Scope parent;
+    private final boolean readOnly;
+    private float[] values;
+    private boolean[] defined;
+
+    public Scope(SymbolTable symbols) {
+        this(symbols, null, false, new float[0], new boolean[0]);
+    }
+
+    public Scope(Scope parent) {
+        this(parent.symbols, parent, false, new float[0], new boolean[0]);
+    }
+
+    private Scope(SymbolTable symbols, Scope parent, boolean readOnly, float[] values, boolean[] defined) {
+        this.symbols = symbols;
+        this.parent = parent;
+        this.readOnly = readOnly;
+        this.values = values;
+        this.defined = defined;
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    public Scope readOnlyCopy() {
+        Scope copy = new Scope(symbols, null, true, new float[symbols.size()], new boolean[symbols.size()]);
+        toMap().forEach((name, value) -> {
+            int slot = symbols.indexOf(name);
+            copy.values[slot] = value;
+            copy.defined[slot] = true;
+        });
+        return copy;
+    }
+
+    public void set(String name, float value) {
+        set(symbols.slotOf(name), value);
+    }
+
+    public void set(int slot, float value) {
+        if (readOnly) {
+            throw new IllegalStateException("Scope is read-only");
+        }
+        ensureCapacity(slot + 1);
+        values[slot] = value;
+        defined[slot] = true;
+    }
+
+    void clear(int slot) {
+        if (slot < defined.length) {
+            defined[slot] = false;
+        }
+    }
+
+    public boolean isDefined(String name) {
+        int slot = symbols.indexOf(name);
+        return slot >= 0 && isDefined(slot);
+    }
+
+    public boolean isDefined(int slot) {
+        return owner(slot) != null;
+    }
+
+    public float get(String name) {
+        int slot = symbols.indexOf(name);
+        Scope owner = slot < 0 ? null : owner(slot);
+        if (owner == null) {
+            throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, name);
+        }
+        return owner.values[slot];
+    }
+
+    public Map<String, Float> toMap() {
+        Map<String, Float> variables = parent != null ? parent.toMap() : new LinkedHashMap<>();
+        for (int slot = 0; slot < defined.length; slot++) {
+            if (defined[slot]) {
+                variables.put(symbols.name(slot), values[slot]);
+            }
+        }
+        return variables;
+    }
+
+    float[] frameFor(int[] requiredSlots, int[] lazySlots, int frameSize) {
+        ensureCapacity(frameSize);
+        for (int slot : requiredSlots) {
+            if (!defined[slot]) {
+                Scope owner = parent != null ? parent.owner(slot) : null;
+                if (owner == null) {
+                    throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+                }
+                values[slot] = owner.values[slot];
+            }
+        }
+        for (int slot : lazySlots) {
+            if (!defined[slot]) {
+                Scope owner = parent != null ? parent.owner(slot) : null;
+                values[slot] = owner == null ? PostfixCode.UNDEFINED : owner.values[slot];
+            }
+        }
+        return values;
+    }
+
+    private Scope owner(int slot) {
+        for (Scope scope = this; scope != null; scope = scope.parent) {
+            if (slot < scope.defined.length && scope.defined[slot]) {
+                return scope;
+            }
+        }
+        return null;
+    }
+
+    private void ensureCapacity(int size) {
+        if (values.length < size) {
+            int capacity = Math.max(size, values.length * 2);
+            values = Arrays.copyOf(values, capacity);
+            defined = Arrays.copyOf(defined, capacity);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package expressionparser.model;
+
+abstract class ScratchBoundEvaluator extends BoundEvaluator {
+    ScratchBoundEvaluator(Object[] functions) {
+        super(functions);
+    }
+
+    @Override
+    public final float eval(float[] frame) {
+        PostfixCode.Scratch scratch = PostfixCode.Scratch.acquire();
+        try {
+            return eval(frame, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    abstract float eval(float[] frame, PostfixCode.Scratch scratch);
+}
@@ -0,0 +1,30 @@
+package expressionparser.model;
+
+public final class SharedInterpreter {
+    private final ExpressionCache cache;
+    private final Scope globals;
+
+    public SharedInterpreter(ExpressionCache cache) {
+        this(cache, new Scope(cache.symbols()));
+    }
+
+    public SharedInterpreter(ExpressionCache cache, Scope globals) {
+        if (globals.symbols() != cache.symbols()) {
+            throw new IllegalArgumentException("Global scope must use the symbol table of the cache");
+        }
+        this.cache = cache;
+        this.globals = globals.readOnlyCopy();
+    }
+
+    public ExpressionCache cache() {
+        return cache;
+    }
+
+    public Interpreter newSession() {
+        return newSession(InterpreterListener.NO_OP);
+    }
+
+    public Interpreter newSession(InterpreterListener listener) {
+        return new Interpreter(cache, new Scope(globals), listener);
+    }
+}
@@ -0,0 +1,94 @@
+package expressionparser.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class SymbolTable {
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Map<String, Integer> slots;
+    private final FunctionRegistry functions;
+    private final int maximumSize;
+    private volatile String[] names;
+    private volatile int size;
+
+    public SymbolTable() {
+        this(new FunctionRegistry());
+    }
+
+    public SymbolTable(FunctionRegistry functions) {
+        this(functions, UNBOUNDED);
+    }
+
+    public SymbolTable(FunctionRegistry functions, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.slots = new ConcurrentHashMap<>();
+        this.functions = functions;
+        this.maximumSize = maximumSize;
+        this.names = new String[16];
+    }
+
+    public FunctionRegistry functions() {
+        return functions;
+    }
+
+    public int slotOf(String name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : define(name);
+    }
+
+    private synchronized int define(String name) {
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        int count = size;
+        if (count == maximumSize) {
+            throw new ParserException(ErrorCode.SYMBOL_LIMIT_EXCEEDED, maximumSize);
+        }
+        if (count == names.length) {
+            names = Arrays.copyOf(names, (int) Math.min((long) count * 2, maximumSize));
+        }
+        names[count] = name;
+        size = count + 1;
+        slots.put(name, count);
+        return count;
+    }
+
+    synchronized void defineAll(Collection<String> names) {
+        int missing = 0;
+        for (String name : names) {
+            if (!slots.containsKey(name)) {
+                missing++;
+            }
+        }
+        if (missing > maximumSize - size) {
+            throw new ParserException(ErrorCode.SYMBOL_LIMIT_EXCEEDED, maximumSize);
+        }
+        names.forEach(this::define);
+    }
+
+    public int indexOf(String name) {
+        return slots.getOrDefault(name, -1);
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public float[] newFrame() {
+        return new float[size()];
+    }
+}
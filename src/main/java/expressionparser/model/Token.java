@@ -3,21 +3,42 @@ package expressionparser.model;
 public class Token {
     public static final Token EOF = new Token(TokenType.EOF, "\0");
     private final TokenType type;
-    private final String value;
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+    private String value;
 
     public Token(TokenType type, String value) {
-        this.type = type;
+        this(type, value, 0, value.length());
         this.value = value;
     }
 
+    Token(TokenType type, CharSequence source, int start, int end) {
+        this.type = type;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
     public TokenType type() {
         return type;
     }
 
     public String value() {
+        if (value == null) {
+            value = source.subSequence(start, end).toString();
+        }
         return value;
     }
 
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
     public enum TokenType {
         ATOM,
         OPERATOR,
@@ -0,0 +1,185 @@
+package expressionparser.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class VariableStore {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final ExpressionCache cache;
+    private final AtomicReference<Snapshot> current;
+
+    public VariableStore(ExpressionCache cache) {
+        this.cache = cache;
+        this.current = new AtomicReference<>(new Snapshot(cache, 0, 0, null));
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public Snapshot set(String name, float value) {
+        return set(Map.of(name, value));
+    }
+
+    public Snapshot set(Map<String, Float> values) {
+        SymbolTable symbols = cache.symbols();
+        while (true) {
+            Snapshot base = current.get();
+            Snapshot next = base;
+            for (Map.Entry<String, Float> entry : values.entrySet()) {
+                next = next.with(symbols.slotOf(entry.getKey()), entry.getValue(), base.version + 1);
+            }
+            if (publish(base, next)) {
+                return next;
+            }
+        }
+    }
+
+    public Interpreter.Result execute(CharSequence input) {
+        try {
+            CompiledExpression expression = cache.get(input.toString());
+            if (expression.targetSlot() < 0) {
+                return Interpreter.Result.success(current.get().eval(expression));
+            }
+            while (true) {
+                Snapshot base = current.get();
+                float value = base.eval(expression);
+                if (publish(base, base.with(expression.targetSlot(), value, base.version + 1))) {
+                    return Interpreter.Result.success(cache.symbols().name(expression.targetSlot()), value);
+                }
+            }
+        } catch (ParserException exception) {
+            return Interpreter.Result.failure(exception);
+        } catch (Exception exception) {
+            return Interpreter.Result.failure(new ParserException(ErrorCode.UNEXPECTED, exception.getMessage()));
+        }
+    }
+
+    private boolean publish(Snapshot base, Snapshot next) {
+        return base == next || current.compareAndSet(base, next);
+    }
+
+    public static final class Snapshot {
+        private final ExpressionCache cache;
+        private final long version;
+        private final int shift;
+        private final Node root;
+
+        private Snapshot(ExpressionCache cache, long version, int shift, Node root) {
+            this.cache = cache;
+            this.version = version;
+            this.shift = shift;
+            this.root = root;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public boolean isDefined(String name) {
+            int slot = cache.symbols().indexOf(name);
+            return slot >= 0 && leafFor(slot) instanceof Leaf leaf && leaf.isDefined(slot);
+        }
+
+        public float get(String name) {
+            int slot = cache.symbols().indexOf(name);
+            if (slot < 0 || !(leafFor(slot) instanceof Leaf leaf) || !leaf.isDefined(slot)) {
+                throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, name);
+            }
+            return leaf.values()[slot & MASK];
+        }
+
+        public Map<String, Float> toMap() {
+            SymbolTable symbols = cache.symbols();
+            Map<String, Float> variables = new LinkedHashMap<>();
+            for (int slot = 0; slot < symbols.size(); slot++) {
+                if (leafFor(slot) instanceof Leaf leaf && leaf.isDefined(slot)) {
+                    variables.put(symbols.name(slot), leaf.values()[slot & MASK]);
+                }
+            }
+            return variables;
+        }
+
+        public Interpreter.Result execute(CharSequence input) {
+            try {
+                CompiledExpression expression = cache.get(input.toString());
+                if (expression.targetSlot() >= 0) {
+                    throw new ParserException(ErrorCode.SNAPSHOT_READ_ONLY, cache.symbols().name(expression.targetSlot()));
+                }
+                return Interpreter.Result.success(eval(expression));
+            } catch (ParserException exception) {
+                return Interpreter.Result.failure(exception);
+            } catch (Exception exception) {
+                return Interpreter.Result.failure(new ParserException(ErrorCode.UNEXPECTED, exception.getMessage()));
+            }
+        }
+
+        public float eval(CompiledExpression expression) {
+            SymbolTable symbols = cache.symbols();
+            float[] frame = new float[expression.frameSize()];
+            for (int slot : expression.requiredSlots()) {
+                if (!(leafFor(slot) instanceof Leaf leaf) || !leaf.isDefined(slot)) {
+                    throw new ParserException(ErrorCode.UNDEFINED_VARIABLE, symbols.name(slot));
+                }
+                frame[slot] = leaf.values()[slot & MASK];
+            }
+            for (int slot : expression.lazySlots()) {
+                frame[slot] = leafFor(slot) instanceof Leaf leaf && leaf.isDefined(slot) ? leaf.values()[slot & MASK] : PostfixCode.UNDEFINED;
+            }
+            return expression.eval(frame);
+        }
+
+        private Node leafFor(int slot) {
+            if (slot >>> BITS >>> shift != 0) {
+                return null;
+            }
+            Node node = root;
+            for (int level = shift; level > 0 && node != null; level -= BITS) {
+                node = ((Branch) node).children()[(slot >>> level) & MASK];
+            }
+            return node;
+        }
+
+        private Snapshot with(int slot, float value, long nextVersion) {
+            Node grown = root;
+            int grownShift = shift;
+            while (slot >>> BITS >>> grownShift != 0) {
+                Node[] children = new Node[WIDTH];
+                children[0] = grown;
+                grown = new Branch(children);
+                grownShift += BITS;
+            }
+            return new Snapshot(cache, nextVersion, grownShift, with(grown, grownShift, slot, value));
+        }
+
+        private static Node with(Node node, int level, int slot, float value) {
+            int index = (slot >>> level) & MASK;
+            if (level == 0) {
+                Leaf leaf = (Leaf) node;
+                float[] values = leaf == null ? new float[WIDTH] : leaf.values().clone();
+                values[index] = value;
+                return new Leaf(values, (leaf == null ? 0 : leaf.defined()) | 1 << index);
+            }
+            Branch branch = (Branch) node;
+            Node[] children = branch == null ? new Node[WIDTH] : branch.children().clone();
+            children[index] = with(children[index], level - BITS, slot, value);
+            return new Branch(children);
+        }
+    }
+
+    private sealed interface Node permits Leaf, Branch {
+    }
+
+    private record Leaf(float[] values, int defined) implements Node {
+        private boolean isDefined(int slot) {
+            return (defined & 1 << (slot & MASK)) != 0;
+        }
+    }
+
+    private record Branch(Node[] children) implements Node {
+    }
+}
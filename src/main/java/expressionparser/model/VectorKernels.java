@@ -0,0 +1,164 @@
+package expressionparser.model;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorKernels implements ColumnKernels {
+    static final VectorKernels INSTANCE = new VectorKernels();
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final FloatVector TRUE_VECTOR = FloatVector.broadcast(SPECIES, Operator.TRUE_VALUE);
+    private static final FloatVector FALSE_VECTOR = FloatVector.broadcast(SPECIES, Operator.FALSE_VALUE);
+
+    private VectorKernels() {
+    }
+
+    @Override
+    public void negate(float[] operand, int operandOffset, float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, operand, operandOffset + i).neg().intoArray(output, outputOffset + i);
+        }
+        ScalarKernels.INSTANCE.negate(operand, operandOffset + bound, output, outputOffset + bound, length - bound);
+    }
+
+    @Override
+    public void apply(Operator operator, float[] left, int leftOffset, float[] right, int rightOffset,
+                      float[] output, int outputOffset, int length) {
+        switch (operator) {
+            case ADD -> add(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case SUBTRACT -> subtract(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case MULTIPLY -> multiply(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case DIVIDE -> divide(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case EQUAL -> equal(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case NOT_EQUAL -> notEqual(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case LESS -> less(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case GREATER -> greater(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case LESS_OR_EQUAL -> lessOrEqual(left, leftOffset, right, rightOffset, output, outputOffset, length);
+            case GREATER_OR_EQUAL -> greaterOrEqual(left, leftOffset, right, rightOffset, output, outputOffset, length);
+        }
+        int bound = SPECIES.loopBound(length);
+        ScalarKernels.INSTANCE.apply(operator, left, leftOffset + bound, right, rightOffset + bound,
+                output, outputOffset + bound, length - bound);
+    }
+
+    private static void add(float[] left, int leftOffset, float[] right, int rightOffset,
+                            float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            leftVector.lanewise(VectorOperators.ADD, rightVector).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void subtract(float[] left, int leftOffset, float[] right, int rightOffset,
+                                 float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            leftVector.lanewise(VectorOperators.SUB, rightVector).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void multiply(float[] left, int leftOffset, float[] right, int rightOffset,
+                                 float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            leftVector.lanewise(VectorOperators.MUL, rightVector).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void divide(float[] left, int leftOffset, float[] right, int rightOffset,
+                               float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        VectorMask<Float> zeroDivisors = SPECIES.maskAll(false);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            zeroDivisors = zeroDivisors.or(FloatVector.fromArray(SPECIES, right, rightOffset + i).compare(VectorOperators.EQ, 0.0f));
+        }
+        for (int i = bound; i < length; i++) {
+            if (right[rightOffset + i] == 0) {
+                throw Operator.DIVISION_BY_ZERO;
+            }
+        }
+        if (zeroDivisors.anyTrue()) {
+            throw Operator.DIVISION_BY_ZERO;
+        }
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            leftVector.lanewise(VectorOperators.DIV, rightVector).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void equal(float[] left, int leftOffset, float[] right, int rightOffset,
+                              float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            VectorMask<Float> mask = leftVector.compare(VectorOperators.EQ, rightVector);
+            FALSE_VECTOR.blend(TRUE_VECTOR, mask).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void notEqual(float[] left, int leftOffset, float[] right, int rightOffset,
+                                 float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            VectorMask<Float> mask = leftVector.compare(VectorOperators.NE, rightVector);
+            FALSE_VECTOR.blend(TRUE_VECTOR, mask).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void less(float[] left, int leftOffset, float[] right, int rightOffset,
+                             float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            VectorMask<Float> mask = leftVector.compare(VectorOperators.LT, rightVector);
+            FALSE_VECTOR.blend(TRUE_VECTOR, mask).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void greater(float[] left, int leftOffset, float[] right, int rightOffset,
+                                float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            VectorMask<Float> mask = leftVector.compare(VectorOperators.GT, rightVector);
+            FALSE_VECTOR.blend(TRUE_VECTOR, mask).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void lessOrEqual(float[] left, int leftOffset, float[] right, int rightOffset,
+                                    float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            VectorMask<Float> mask = leftVector.compare(VectorOperators.LE, rightVector);
+            FALSE_VECTOR.blend(TRUE_VECTOR, mask).intoArray(output, outputOffset + i);
+        }
+    }
+
+    private static void greaterOrEqual(float[] left, int leftOffset, float[] right, int rightOffset,
+                                       float[] output, int outputOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector leftVector = FloatVector.fromArray(SPECIES, left, leftOffset + i);
+            FloatVector rightVector = FloatVector.fromArray(SPECIES, right, rightOffset + i);
+            VectorMask<Float> mask = leftVector.compare(VectorOperators.GE, rightVector);
+            FALSE_VECTOR.blend(TRUE_VECTOR, mask).intoArray(output, outputOffset + i);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package expressionparser.server;
+
+import expressionparser.model.Backend;
+import expressionparser.model.ErrorCode;
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.FunctionRegistry;
+import expressionparser.model.Interpreter;
+import expressionparser.model.ParserException;
+import expressionparser.model.ParserLimits;
+import expressionparser.model.SymbolTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class EvaluationServer implements AutoCloseable {
+    static final String FAILURE_PREFIX = "ERROR ";
+    static final byte SUCCESS = 0;
+    static final byte FAILURE = 1;
+    static final int MAX_BATCH_SIZE = 1 << 16;
+    static final int MAX_EXPRESSION_BYTES = 1 << 20;
+
+    private static final int DEFAULT_CACHE_SIZE = 4096;
+    private static final int DEFAULT_MAX_SYMBOLS = 1 << 16;
+    private static final int DEFAULT_SYMBOLS_PER_CONNECTION = 1 << 10;
+    private static final ParserLimits DEFAULT_LIMITS = new ParserLimits(1024, MAX_EXPRESSION_BYTES);
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MIN_ACCEPT_BACKOFF_MILLIS = 10;
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+
+    private final ServerSocket socket;
+    private final Protocol protocol;
+    private final ExpressionCache cache;
+    private final int symbolsPerConnection;
+    private final Set<Socket> connections;
+    private final ExecutorService workers;
+    private final Thread acceptor;
+
+    private EvaluationServer(ServerSocket socket, Protocol protocol, ExpressionCache cache, int symbolsPerConnection) {
+        this.socket = socket;
+        this.protocol = protocol;
+        this.cache = cache;
+        this.symbolsPerConnection = symbolsPerConnection;
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.workers = Executors.newVirtualThreadPerTaskExecutor();
+        this.acceptor = Thread.ofVirtual().name("evaluation-server-acceptor").start(this::acceptConnections);
+    }
+
+    public static EvaluationServer start(int port, Protocol protocol) throws IOException {
+        SymbolTable symbols = new SymbolTable(new FunctionRegistry(), DEFAULT_MAX_SYMBOLS);
+        return start(new InetSocketAddress(port), protocol,
+                new ExpressionCache(DEFAULT_CACHE_SIZE, symbols, Backend.TREE, DEFAULT_LIMITS));
+    }
+
+    public static EvaluationServer start(InetSocketAddress address, Protocol protocol, ExpressionCache cache) throws IOException {
+        return start(address, protocol, cache, DEFAULT_SYMBOLS_PER_CONNECTION);
+    }
+
+    public static EvaluationServer start(InetSocketAddress address, Protocol protocol, ExpressionCache cache,
+                                         int symbolsPerConnection) throws IOException {
+        if (symbolsPerConnection <= 0) {
+            throw new IllegalArgumentException("Symbols per connection must be positive: " + symbolsPerConnection);
+        }
+        ServerSocket socket = new ServerSocket();
+        try {
+            socket.setReuseAddress(true);
+            socket.bind(address);
+        } catch (IOException exception) {
+            socket.close();
+            throw exception;
+        }
+        return new EvaluationServer(socket, protocol, cache, symbolsPerConnection);
+    }
+
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    public Protocol protocol() {
+        return protocol;
+    }
+
+    public ExpressionCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    public int openConnections() {
+        return connections.size();
+    }
+
+    public void await() throws InterruptedException {
+        acceptor.join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+        workers.close();
+    }
+
+    private void acceptConnections() {
+        long backoff = MIN_ACCEPT_BACKOFF_MILLIS;
+        while (!socket.isClosed()) {
+            Socket connection;
+            try {
+                connection = socket.accept();
+            } catch (IOException exception) {
+                if (socket.isClosed()) {
+                    return;
+                }
+                System.getLogger(EvaluationServer.class.getName()).log(System.Logger.Level.WARNING,
+                        "Accepting a connection failed, retrying in " + backoff + " ms", exception);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_ACCEPT_BACKOFF_MILLIS);
+                continue;
+            }
+            backoff = MIN_ACCEPT_BACKOFF_MILLIS;
+            connections.add(connection);
+            workers.execute(() -> serve(connection));
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection) {
+            connection.setTcpNoDelay(true);
+            Interpreter interpreter = new Interpreter(cache.withSymbolQuota(symbolsPerConnection));
+            switch (protocol) {
+                case LINE -> serveLines(interpreter, connection.getInputStream(), connection.getOutputStream());
+                case FRAMED -> serveFrames(interpreter, connection.getInputStream(), connection.getOutputStream());
+            }
+        } catch (IOException ignored) {
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    private static void serveLines(Interpreter interpreter, InputStream input, OutputStream output) throws IOException {
+        LineReader reader = new LineReader(input);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        while (reader.next()) {
+            if (reader.isTooLong()) {
+                Interpreter.Result result = Interpreter.Result.failure(
+                        new ParserException(ErrorCode.MAXIMUM_LENGTH_EXCEEDED, MAX_EXPRESSION_BYTES));
+                writer.write(FAILURE_PREFIX + describeFailure(result));
+            } else {
+                String line = reader.line();
+                if (!line.isBlank()) {
+                    Interpreter.Result result = interpreter.execute(line);
+                    writer.write(result.succeeded() ? result.value() : FAILURE_PREFIX + describeFailure(result));
+                }
+            }
+            writer.write('\n');
+            if (!reader.ready()) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static void serveFrames(Interpreter interpreter, InputStream input, OutputStream output) throws IOException {
+        DataInputStream reader = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        DataOutputStream writer = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        while (true) {
+            int count;
+            try {
+                count = reader.readInt();
+            } catch (EOFException exception) {
+                break;
+            }
+            checkRange("Batch size", count, MAX_BATCH_SIZE);
+            writer.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                Interpreter.Result result = interpreter.execute(readString(reader));
+                writer.writeByte(result.succeeded() ? SUCCESS : FAILURE);
+                writeString(writer, result.succeeded() ? result.value() : describeFailure(result));
+            }
+            if (reader.available() == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        checkRange("String length", length, MAX_EXPRESSION_BYTES);
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void checkRange(String name, int value, int maximum) throws IOException {
+        if (value < 0 || value > maximum) {
+            throw new IOException(name + " out of range: " + value);
+        }
+    }
+
+    private static String describeFailure(Interpreter.Result result) {
+        return result.error().orElse(ErrorCode.UNEXPECTED).name() + ": " + result.value();
+    }
+
+    private static void closeQuietly(Socket connection) {
+        try {
+            connection.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class LineReader {
+        private final InputStream input;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private byte[] line = new byte[256];
+        private int position;
+        private int limit;
+        private int length;
+        private boolean tooLong;
+
+        private LineReader(InputStream input) {
+            this.input = input;
+        }
+
+        private boolean next() throws IOException {
+            length = 0;
+            tooLong = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    int read = input.read(buffer);
+                    position = 0;
+                    limit = Math.max(read, 0);
+                    if (read <= 0) {
+                        return started;
+                    }
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position - start);
+                if (position < limit) {
+                    position++;
+                    return true;
+                }
+            }
+        }
+
+        private void append(int from, int count) {
+            if (tooLong || count == 0) {
+                return;
+            }
+            if (length + count > MAX_EXPRESSION_BYTES) {
+                tooLong = true;
+                return;
+            }
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.max(length + count, line.length * 2));
+            }
+            System.arraycopy(buffer, from, line, length, count);
+            length += count;
+        }
+
+        private boolean isTooLong() {
+            return tooLong;
+        }
+
+        private String line() {
+            int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+            return new String(line, 0, end, StandardCharsets.UTF_8);
+        }
+
+        private boolean ready() throws IOException {
+            return position < limit || input.available() > 0;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package expressionparser.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class LoadGenerator {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_PIPELINE_DEPTH = 1024;
+
+    private final InetSocketAddress address;
+    private final Protocol protocol;
+
+    public LoadGenerator(InetSocketAddress address, Protocol protocol) {
+        this.address = address;
+        this.protocol = protocol;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5 || args.length > 6) {
+            System.err.println("Usage: <host> <port> <connections> <requests per connection> <pipeline depth> [line|framed]");
+            System.exit(2);
+        }
+        Protocol protocol = args.length == 6 ? Protocol.valueOf(args[5].toUpperCase()) : Protocol.LINE;
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress(args[0], Integer.parseInt(args[1])), protocol);
+        Report report = generator.run(List.of("a = 2", "b = a * 21 + 1", "(a + b) * (b - a) / 2", "b > a ? b : a"),
+                Integer.parseInt(args[2]), Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+        System.out.printf("%d requests (%d failed) in %d ms: %.0f requests/s, p50 %d us, p99 %d us, max %d us%n",
+                report.requests(), report.failures(), report.elapsed().toMillis(), report.requestsPerSecond(),
+                report.medianLatency().toNanos() / 1000, report.p99Latency().toNanos() / 1000,
+                report.maxLatency().toNanos() / 1000);
+    }
+
+    public Report run(List<String> expressions, int connections, int requestsPerConnection, int pipelineDepth) throws IOException {
+        if (expressions.isEmpty() || connections <= 0 || requestsPerConnection <= 0) {
+            throw new IllegalArgumentException("Expressions, connections and requests must not be empty");
+        }
+        if (pipelineDepth <= 0 || pipelineDepth > MAX_PIPELINE_DEPTH) {
+            throw new IllegalArgumentException("Pipeline depth out of range: " + pipelineDepth);
+        }
+        long started = System.nanoTime();
+        List<Future<Client>> clients = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                clients.add(executor.submit(() -> drive(expressions, requestsPerConnection, pipelineDepth)));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        long[] latencies = new long[connections * requestsPerConnection];
+        long failures = 0;
+        int offset = 0;
+        for (Future<Client> future : clients) {
+            Client client = join(future);
+            System.arraycopy(client.latencies, 0, latencies, offset, client.latencies.length);
+            offset += client.latencies.length;
+            failures += client.failures;
+        }
+        Arrays.sort(latencies);
+        return new Report(latencies.length, failures, elapsed, percentile(latencies, 0.5), percentile(latencies, 0.99),
+                Duration.ofNanos(latencies[latencies.length - 1]));
+    }
+
+    private Client drive(List<String> expressions, int requests, int pipelineDepth) throws IOException {
+        Client client = new Client(requests);
+        try (Socket socket = new Socket()) {
+            socket.setTcpNoDelay(true);
+            socket.connect(address);
+            switch (protocol) {
+                case LINE -> client.driveLines(socket, expressions, pipelineDepth);
+                case FRAMED -> client.driveFrames(socket, expressions, pipelineDepth);
+            }
+        }
+        return client;
+    }
+
+    private static Client join(Future<Client> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating load", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Load generation failed", exception.getCause());
+        }
+    }
+
+    private static Duration percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, index)]);
+    }
+
+    public record Report(long requests, long failures, Duration elapsed, Duration medianLatency, Duration p99Latency,
+                         Duration maxLatency) {
+        public double requestsPerSecond() {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return requests * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    private static final class Client {
+        private final long[] latencies;
+        private long failures;
+
+        private Client(int requests) {
+            this.latencies = new long[requests];
+        }
+
+        private void driveLines(Socket socket, List<String> expressions, int pipelineDepth) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            for (int sent = 0; sent < latencies.length; sent += pipelineDepth) {
+                int window = Math.min(pipelineDepth, latencies.length - sent);
+                for (int i = 0; i < window; i++) {
+                    writer.write(expressions.get((sent + i) % expressions.size()));
+                    writer.write('\n');
+                }
+                long started = System.nanoTime();
+                writer.flush();
+                for (int i = 0; i < window; i++) {
+                    String response = reader.readLine();
+                    if (response == null) {
+                        throw new EOFException("Server closed the connection");
+                    }
+                    record(sent + i, started, response.startsWith(EvaluationServer.FAILURE_PREFIX));
+                }
+            }
+        }
+
+        private void driveFrames(Socket socket, List<String> expressions, int pipelineDepth) throws IOException {
+            DataInputStream reader = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            DataOutputStream writer = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            for (int sent = 0; sent < latencies.length; sent += pipelineDepth) {
+                int window = Math.min(pipelineDepth, latencies.length - sent);
+                writer.writeInt(window);
+                for (int i = 0; i < window; i++) {
+                    EvaluationServer.writeString(writer, expressions.get((sent + i) % expressions.size()));
+                }
+                long started = System.nanoTime();
+                writer.flush();
+                int count = reader.readInt();
+                if (count != window) {
+                    throw new IOException("Expected " + window + " responses, but got " + count);
+                }
+                for (int i = 0; i < window; i++) {
+                    boolean failed = reader.readByte() != EvaluationServer.SUCCESS;
+                    EvaluationServer.readString(reader);
+                    record(sent + i, started, failed);
+                }
+            }
+        }
+
+        private void record(int request, long started, boolean failed) {
+            latencies[request] = System.nanoTime() - started;
+            if (failed) {
+                failures++;
+            }
+        }
+    }
+}
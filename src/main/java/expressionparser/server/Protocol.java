@@ -0,0 +1,6 @@
+package expressionparser.server;
+
+public enum Protocol {
+    LINE,
+    FRAMED
+}
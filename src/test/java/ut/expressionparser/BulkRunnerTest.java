@@ -0,0 +1,74 @@
+package ut.expressionparser;
+
+import expressionparser.BulkRunner;
+import expressionparser.model.Interpreter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void runEveryLineAndWriteResults() throws IOException {
+        Path input = Files.writeString(directory.resolve("input.txt"), "a = 2\r\n\n   \nb = a * 21\nb / (a - 2)\nb + 0.5");
+        Path output = directory.resolve("output.txt");
+
+        BulkRunner.Summary summary = new BulkRunner(new Interpreter()).run(input, output);
+
+        assertEquals(List.of("a = 2", "b = 42", "Division by zero is not allowed", "42.5"), Files.readAllLines(output));
+        assertEquals(4, summary.lines());
+        assertEquals(1, summary.failures());
+    }
+
+    @Test
+    void splitInputAcrossSeveralMappings() throws IOException {
+        StringBuilder script = new StringBuilder("x = 0\n");
+        for (int i = 0; i < 1000; i++) {
+            script.append("x = x + ").append(i % 10).append('\n');
+        }
+        Path input = Files.writeString(directory.resolve("input.txt"), script);
+        Path output = directory.resolve("output.txt");
+
+        BulkRunner.Summary summary = new BulkRunner(new Interpreter(), 64).run(input, output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(1001, summary.lines());
+        assertEquals(0, summary.failures());
+        assertEquals(1001, lines.size());
+        assertEquals("x = 4500", lines.getLast());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, -1, Integer.MAX_VALUE + 1L})
+    void rejectMappingSizesOutsideIntRange(long mappingSize) {
+        assertThrows(IllegalArgumentException.class, () -> new BulkRunner(new Interpreter(), mappingSize));
+    }
+
+    @Test
+    void decodeNonAsciiLinesAsUtf8() throws IOException {
+        Path input = Files.writeString(directory.resolve("input.txt"), "a = 2\nb = a + é\nc = a * 3\n", StandardCharsets.UTF_8);
+        Path output = directory.resolve("output.txt");
+
+        BulkRunner.Summary summary = new BulkRunner(new Interpreter()).run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(3, summary.lines());
+        assertEquals(1, summary.failures());
+        assertTrue(lines.get(1).contains("é"), lines.get(1));
+        assertEquals("c = 6", lines.get(2));
+    }
+}
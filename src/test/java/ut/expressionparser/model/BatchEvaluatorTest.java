@@ -0,0 +1,173 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.BatchEvaluator;
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.Expression;
+import expressionparser.model.ParallelBatchExecutor;
+import expressionparser.model.ParserException;
+import expressionparser.model.SymbolTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchEvaluatorTest {
+    private static final int ROWS = 5000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "42",
+            "x",
+            "-x",
+            "x + y * 2 - 0.5",
+            "(x - y) / (y + 1000)",
+            "-(x * y) + --y",
+            "(x < y) + (x > y) * 2 + (x <= y) * 4 + (x >= y) * 8 + (x == y) * 16 + (x != y) * 32",
+            "x * (y + (x * (y + (x * (y + 1)))))",
+            "(x + y) * (x - y) + (x + y) * 2 * (x - y) - (x + y)",
+            "(x * 1 + 0) * (x * y) - (x * y) / (2 * 1 + 1)",
+            "x > y ? x - y : y / (x + 1)",
+            "!(x < 5) && y || x == y"
+    })
+    void evaluateSameResultAsRowByRowEvaluation(String input) {
+        CompiledExpression expression = CompiledExpression.fromString(input);
+        Random random = new Random(42);
+        float[] x = new float[ROWS];
+        float[] y = new float[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            x[i] = random.nextInt(20);
+            y[i] = random.nextInt(20);
+        }
+        float[] expected = new float[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            expected[i] = expression.eval(Map.of("x", x[i], "y", y[i]));
+        }
+        float[] output = new float[ROWS];
+
+        BatchEvaluator.of(expression).evaluate(Map.of("x", x, "y", y), output);
+
+        assertArrayEquals(expected, output);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "x + y * 2 - 0.5",
+            "-(x * y) / (y + 1000)",
+            "(x < y) + (x > y) * 2 + (x <= y) * 4 + (x >= y) * 8 + (x == y) * 16 + (x != y) * 32"
+    })
+    void evaluateSameResultWithVectorizedKernels(String input) {
+        CompiledExpression expression = CompiledExpression.fromString(input);
+        Random random = new Random(7);
+        float[] x = new float[ROWS];
+        float[] y = new float[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            x[i] = random.nextInt(20) / 4.0f;
+            y[i] = random.nextInt(20) / 4.0f;
+        }
+        float[] expected = new float[ROWS];
+        float[] output = new float[ROWS];
+
+        BatchEvaluator.of(expression).evaluate(Map.of("x", x, "y", y), expected);
+        BatchEvaluator.vectorized(expression).evaluate(Map.of("x", x, "y", y), output);
+
+        assertTrue(BatchEvaluator.vectorSupported());
+        assertArrayEquals(expected, output);
+    }
+
+    @Test
+    void throwExceptionWhenDividingByZeroInVectorizedLane() {
+        BatchEvaluator evaluator = BatchEvaluator.vectorized(CompiledExpression.fromString("1 / x"));
+        float[] x = new float[64];
+        Arrays.fill(x, 1);
+        x[3] = 0;
+
+        ParserException exception = assertThrows(ParserException.class,
+                () -> evaluator.evaluate(Map.of("x", x), new float[64]));
+
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void leaveOutputUntouchedWhenDividingByZero(boolean vectorized) {
+        CompiledExpression expression = CompiledExpression.fromString("1 / x");
+        BatchEvaluator evaluator = vectorized ? BatchEvaluator.vectorized(expression) : BatchEvaluator.of(expression);
+        float[] x = new float[67];
+        Arrays.fill(x, 2);
+        float[] output = new float[67];
+        Arrays.fill(output, -1);
+
+        for (int zero : new int[]{66, 40}) {
+            x[zero] = 0;
+            assertThrows(ParserException.class, () -> evaluator.evaluate(Map.of("x", x), output));
+            x[zero] = 2;
+        }
+
+        float[] untouched = new float[67];
+        Arrays.fill(untouched, -1);
+        assertArrayEquals(untouched, output);
+    }
+
+    @Test
+    void throwExceptionWhenDividingByZeroInAnyRow() {
+        BatchEvaluator evaluator = BatchEvaluator.of(CompiledExpression.fromString("1 / x"));
+        float[] x = {1, 2, 0, 4};
+
+        ParserException exception = assertThrows(ParserException.class,
+                () -> evaluator.evaluate(Map.of("x", x), new float[4]));
+
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+    }
+
+    @Test
+    void throwExceptionWhenColumnIsMissing() {
+        BatchEvaluator evaluator = BatchEvaluator.of(CompiledExpression.fromString("x + y"));
+
+        ParserException exception = assertThrows(ParserException.class,
+                () -> evaluator.evaluate(Map.of("x", new float[4]), new float[4]));
+
+        assertEquals("Undefined variable 'y'", exception.getMessage());
+    }
+
+    @Test
+    void evaluateFormulasInParallelAndReportFailingRows() {
+        SymbolTable symbols = new SymbolTable();
+        CompiledExpression sum = CompiledExpression.compile(Expression.fromString("x + y"), symbols);
+        CompiledExpression ratio = CompiledExpression.compile(Expression.fromString("x / y"), symbols);
+        float[][] columns = new float[symbols.size()][ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            columns[symbols.indexOf("x")][i] = i;
+            columns[symbols.indexOf("y")][i] = i == 1500 || i == 1501 || i == 2500 ? 0 : 2;
+        }
+        List<ParallelBatchExecutor.BatchResult> results;
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            results = new ParallelBatchExecutor(pool, 1000).evaluate(List.of(sum, ratio), columns, ROWS);
+        }
+
+        ParallelBatchExecutor.BatchResult sumResult = results.get(0);
+        ParallelBatchExecutor.BatchResult ratioResult = results.get(1);
+        assertTrue(sumResult.succeeded());
+        assertEquals(3002.0f, sumResult.output()[3000]);
+        assertFalse(ratioResult.succeeded());
+        assertEquals(List.of(
+                new ParallelBatchExecutor.Failure(1500, 1502, "Division by zero is not allowed"),
+                new ParallelBatchExecutor.Failure(2500, 2501, "Division by zero is not allowed")), ratioResult.failures());
+        assertTrue(Float.isNaN(ratioResult.output()[1500]));
+        assertTrue(Float.isNaN(ratioResult.output()[1501]));
+        assertEquals(749.5f, ratioResult.output()[1499]);
+        assertEquals(751.0f, ratioResult.output()[1502]);
+        assertEquals(1500.0f, ratioResult.output()[3000]);
+    }
+}
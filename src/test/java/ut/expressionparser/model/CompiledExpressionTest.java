@@ -0,0 +1,281 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.Backend;
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.DoubleExpression;
+import expressionparser.model.Expression;
+import expressionparser.model.FunctionRegistry;
+import expressionparser.model.ParserException;
+import expressionparser.model.Scope;
+import expressionparser.model.SymbolTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledExpressionTest {
+
+    @Test
+    void evaluateConstantExpression() {
+        CompiledExpression expression = CompiledExpression.fromString("((32 + 47) * (26 - (11 + 11))) / 5 - ((9 < 10) + 2)");
+
+        assertEquals(60.2f, expression.eval());
+    }
+
+    @Test
+    void resolveVariablesToSlotsInOrderOfAppearance() {
+        CompiledExpression expression = CompiledExpression.fromString("a * b + a - ((62 + x) + 12 / a)");
+
+        assertEquals(List.of("a", "b", "x"), expression.variables());
+        assertEquals(972.8421f, expression.eval(76, 13, 29));
+    }
+
+    @Test
+    void evaluateRepeatedlyWithDifferentValues() {
+        CompiledExpression expression = CompiledExpression.fromString("x * 2 + -y");
+
+        assertEquals(1.0f, expression.eval(1, 1));
+        assertEquals(17.0f, expression.eval(10, 3));
+    }
+
+    @Test
+    void evaluateWithVariableMap() {
+        CompiledExpression expression = CompiledExpression.fromString("a + b");
+
+        assertEquals(100.0f, expression.eval(Map.of("a", 89.0f, "b", 11.0f)));
+    }
+
+    @Test
+    void keepAssignmentTarget() {
+        CompiledExpression expression = CompiledExpression.fromString("total = price * 2");
+
+        assertEquals(Optional.of("total"), expression.target());
+        assertEquals(List.of("price"), expression.variables());
+        assertEquals(20.0f, expression.eval(10));
+    }
+
+    @Test
+    void throwExceptionWhenVariableIsNotInMap() {
+        CompiledExpression expression = CompiledExpression.fromString("a + 2");
+
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(Map.of()));
+
+        assertEquals("Undefined variable 'a'", exception.getMessage());
+    }
+
+    @Test
+    void throwExceptionWhenDividingByZero() {
+        CompiledExpression expression = CompiledExpression.fromString("42 / x");
+
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(0));
+
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+    }
+
+    @Test
+    void shareSlotsBetweenExpressionsCompiledWithSameSymbolTable() {
+        SymbolTable symbols = new SymbolTable();
+        CompiledExpression first = CompiledExpression.compile(Expression.fromString("b - a"), symbols);
+        CompiledExpression second = CompiledExpression.compile(Expression.fromString("a * c"), symbols);
+        float[] frame = symbols.newFrame();
+        frame[symbols.indexOf("a")] = 2;
+        frame[symbols.indexOf("b")] = 10;
+        frame[symbols.indexOf("c")] = 4;
+
+        assertEquals(8.0f, first.eval(frame));
+        assertEquals(8.0f, second.eval(frame));
+    }
+
+    @Test
+    void evaluateAgainstScope() {
+        SymbolTable symbols = new SymbolTable();
+        Scope scope = new Scope(symbols);
+        CompiledExpression expression = CompiledExpression.compile(Expression.fromString("a + b"), symbols);
+        scope.set("a", 1);
+
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(scope));
+        scope.set("b", 2);
+
+        assertEquals("Undefined variable 'b'", exception.getMessage());
+        assertEquals(3.0f, expression.eval(scope));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "42; 42",
+            "-x + 10; 7",
+            "x * y - 0.5; 26.5",
+            "(x + y) / 4; 3",
+            "0 / 2 + 1 - 2; -1",
+            "a * b + a - ((62 + x) + 12 / a); 935.0769",
+            "(x < y) + (x > y) * 10 + (x <= 3) * 100 + (y >= 9) * 1000 + (x == 3) * 10000 + (x != y) * 100000; 111101",
+            "x * (100 / 100) + 0 - (2 < 3) * 0.5; 2.5",
+            "--x * 1 - 0 + 0 * y; 3",
+            "(x + y) * (x + y) - (x + y) / (a - b * 0.5 + 0); 144.48",
+            "(x - 9 / 3) * (x - 9 / 3) + -(-(2 - 7)); -5",
+            "x < y && y < a ? x * 2 : y; 6",
+            "x > y || !(a == 13); 0",
+            "x > y ? 1 / 0 : x < y ? a : b; 13",
+            "!x + !0 + (x && 0) + (0 || y) * 10; 11",
+            "(x + y > 10 ? x + y : 0) + (x + y); 24",
+            "max(x, y, a) - min(x, y); 10",
+            "pow(x, 2) + sqrt(y) + abs(-a); 25",
+            "if(x > y, 1 / 0, hypot(x, 4)); 5",
+            "round(2.5) + floor(-x / 2) + ceil(0.1); 2",
+            "-max(x * 2, (y), min(a, b)) * 2; -26",
+            "max(x, min(y, a)) + min(max(a, b), x) * max(x, y); 36"
+    })
+    void evaluateSameResultWithEveryBackend(String input, float expected) {
+        SymbolTable symbols = new SymbolTable();
+        Scope scope = new Scope(symbols);
+        scope.set("x", 3);
+        scope.set("y", 9);
+        scope.set("a", 13);
+        scope.set("b", 76);
+
+        CompiledExpression tree = CompiledExpression.compile(Expression.fromString(input), symbols, Backend.TREE);
+        CompiledExpression postfix = CompiledExpression.compile(Expression.fromString(input), symbols, Backend.POSTFIX);
+        CompiledExpression bytecode = CompiledExpression.compile(Expression.fromString(input), symbols, Backend.BYTECODE);
+
+        assertEquals(expected, tree.eval(scope));
+        assertEquals(expected, postfix.eval(scope));
+        assertEquals(expected, bytecode.eval(scope));
+    }
+
+    @Test
+    void throwExceptionWhenDividingByZeroWithBytecodeBackend() {
+        CompiledExpression expression = CompiledExpression.compile(Expression.fromString("x / (y - 1)"), new SymbolTable(), Backend.BYTECODE);
+
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(4, 1));
+
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+    }
+
+    @Test
+    void evaluateLargeExpressionWithBytecodeBackend() {
+        StringBuilder input = new StringBuilder("x");
+        for (int i = 1; i <= 300; i++) {
+            input.append(" + ").append(i).append(".5 * x");
+        }
+        CompiledExpression tree = CompiledExpression.compile(Expression.fromString(input.toString()), new SymbolTable(), Backend.TREE);
+        CompiledExpression bytecode = CompiledExpression.compile(Expression.fromString(input.toString()), new SymbolTable(), Backend.BYTECODE);
+
+        assertEquals(tree.eval(2), bytecode.eval(2));
+    }
+
+    @Test
+    void evaluateLongExpressionWithPostfixBackend() {
+        StringBuilder input = new StringBuilder("x");
+        for (int i = 1; i <= 100_000; i++) {
+            input.append(i % 2 == 0 ? " + " : " - ").append("x * 2");
+        }
+
+        CompiledExpression expression = CompiledExpression.compile(Expression.fromString(input.toString()), new SymbolTable(), Backend.POSTFIX);
+
+        assertEquals(List.of("x"), expression.variables());
+        assertEquals(1.0f, expression.eval(1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void keepDivisionByZeroErrorForConstantDivisor(Backend backend) {
+        CompiledExpression expression = CompiledExpression.compile(Expression.fromString("x + 4 / (2 - 2)"), new SymbolTable(), backend);
+
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(1));
+
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void skipUntakenBranches(Backend backend) {
+        SymbolTable symbols = new SymbolTable();
+        Scope scope = new Scope(symbols);
+        scope.set("x", 3);
+
+        CompiledExpression conditional = CompiledExpression.compile(Expression.fromString("x > 0 ? x : 1 / (x - 3)"), symbols, backend);
+        CompiledExpression and = CompiledExpression.compile(Expression.fromString("x < 0 && 1 / (x - 3)"), symbols, backend);
+        CompiledExpression or = CompiledExpression.compile(Expression.fromString("x > 0 || 1 / (x - 3)"), symbols, backend);
+
+        assertEquals(3.0f, conditional.eval(scope));
+        assertEquals(0.0f, and.eval(scope));
+        assertEquals(1.0f, or.eval(scope));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void callRegisteredFunctions(Backend backend) {
+        AtomicInteger pureCalls = new AtomicInteger();
+        AtomicInteger impureCalls = new AtomicInteger();
+        FunctionRegistry functions = new FunctionRegistry()
+                .unary("square", FunctionRegistry.Purity.PURE, value -> {
+                    pureCalls.incrementAndGet();
+                    return value * value;
+                })
+                .variadic("next", FunctionRegistry.Purity.IMPURE, 0, arguments -> impureCalls.incrementAndGet());
+        SymbolTable symbols = new SymbolTable(functions);
+
+        CompiledExpression folded = CompiledExpression.compile(Expression.fromString("square(3) + x"), symbols, backend);
+        CompiledExpression impure = CompiledExpression.compile(Expression.fromString("next() * 10 + next()"), symbols, backend);
+        CompiledExpression shared = CompiledExpression.compile(Expression.fromString("square(x) + square(x)"), symbols, backend);
+
+        assertEquals(1, pureCalls.get());
+        assertEquals(10.0f, folded.eval(Map.of("x", 1.0f)));
+        assertEquals(12.0f, impure.eval(Map.of()));
+        assertEquals(8.0f, shared.eval(Map.of("x", 2.0f)));
+        assertEquals(2, impureCalls.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void evaluateCommonSubexpressionsOnce(Backend backend) {
+        AtomicInteger calls = new AtomicInteger();
+        FunctionRegistry functions = new FunctionRegistry()
+                .unary("square", FunctionRegistry.Purity.PURE, value -> {
+                    calls.incrementAndGet();
+                    return value * value;
+                });
+        CompiledExpression shared = CompiledExpression.compile(
+                Expression.fromString("square(x + 1) * 2 + square(x + 1) / (square(x + 1) - 1)"), new SymbolTable(functions), backend);
+
+        assertEquals(19.125f, shared.eval(Map.of("x", 2.0f)));
+        assertEquals(1, calls.get());
+        assertEquals(33.066666f, shared.eval(Map.of("x", 3.0f)), 1e-4f);
+        assertEquals(2, calls.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void evaluateNestedExpressionsFromInsideFunctions(Backend backend) {
+        CompiledExpression inner = CompiledExpression.compile(Expression.fromString("(a + b) * (a - b)"), new SymbolTable(), backend);
+        FunctionRegistry functions = new FunctionRegistry()
+                .variadic("inner", FunctionRegistry.Purity.IMPURE, 2, arguments -> inner.eval((float) arguments[0], (float) arguments[1]));
+        CompiledExpression outer = CompiledExpression.compile(Expression.fromString("x * 2 + inner(x, 1, 0) + (x + 1) * 3"),
+                new SymbolTable(functions), backend);
+
+        assertEquals(16.0f, outer.eval(Map.of("x", 2.0f)));
+        assertEquals(16.0f, outer.eval(Map.of("x", 2.0f)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void keepSignOfZeroWhenAddingZero(Backend backend) {
+        SymbolTable symbols = new SymbolTable();
+        CompiledExpression right = CompiledExpression.compile(Expression.fromString("x + 0"), symbols, backend);
+        CompiledExpression left = CompiledExpression.compile(Expression.fromString("0 + x"), symbols, backend);
+        CompiledExpression subtract = CompiledExpression.compile(Expression.fromString("x - 0"), symbols, backend);
+
+        assertEquals(0.0f, right.eval(-0.0f));
+        assertEquals(0.0f, left.eval(-0.0f));
+        assertEquals(-0.0f, subtract.eval(-0.0f));
+        assertEquals(0.0, DoubleExpression.fromString("x + 0").eval(-0.0));
+    }
+}
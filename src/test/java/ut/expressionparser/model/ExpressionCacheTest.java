@@ -0,0 +1,122 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.Backend;
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.ErrorCode;
+import expressionparser.model.ExpressionArchive;
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.Interpreter;
+import expressionparser.model.ParserLimits;
+import expressionparser.model.SymbolTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionCacheTest {
+
+    @Test
+    void returnSameCompiledExpressionForSameSource() {
+        ExpressionCache cache = new ExpressionCache(10);
+
+        CompiledExpression first = cache.get("a + 1");
+        CompiledExpression second = cache.get("a + 1");
+
+        assertSame(first, second);
+        assertEquals(new ExpressionCache.Stats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    void parseWithConfiguredLimits() {
+        ExpressionCache cache = new ExpressionCache(10, new SymbolTable(), Backend.TREE, new ParserLimits(4, 32));
+        Interpreter interpreter = new Interpreter(cache);
+
+        assertEquals("10", interpreter.execute("1 + 2 + 3 + 4").value());
+        assertEquals(Optional.of(ErrorCode.MAXIMUM_DEPTH_EXCEEDED), interpreter.execute("1 + 2 + 3 + 4 + 5").error());
+        assertEquals(Optional.of(ErrorCode.MAXIMUM_LENGTH_EXCEEDED), interpreter.execute("1" + " + 1".repeat(10)).error());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedEntries() {
+        ExpressionCache cache = new ExpressionCache(1);
+
+        CompiledExpression first = cache.get("1 + 1");
+        cache.get("2 + 2");
+        CompiledExpression reloaded = cache.get("1 + 1");
+
+        assertEquals(new ExpressionCache.Stats(0, 3, 2, 1), cache.stats());
+        assertEquals(first.eval(), reloaded.eval());
+    }
+
+    @Test
+    void keepSizeBoundedUnderConcurrentAccess() throws Exception {
+        ExpressionCache cache = new ExpressionCache(64);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Float>> results = IntStream.range(0, 2000)
+                    .mapToObj(i -> executor.submit(() -> cache.get(i % 200 + " * 2").eval()))
+                    .toList();
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 200 * 2, results.get(i).get());
+            }
+        }
+
+        ExpressionCache.Stats stats = cache.stats();
+        assertEquals(2000, stats.hits() + stats.misses());
+        assertTrue(stats.size() <= 64);
+    }
+
+    @Test
+    void shareCompiledExpressionsBetweenInterpreters() {
+        ExpressionCache cache = new ExpressionCache(10);
+        Interpreter first = new Interpreter(cache);
+        Interpreter second = new Interpreter(cache);
+
+        first.execute("a = 2");
+        second.execute("a = 3");
+
+        assertEquals("4", first.execute("a * 2").value());
+        assertEquals("6", second.execute("a * 2").value());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void preloadCompiledExpressionsFromArchive(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rules.bin");
+        List<String> sources = List.of("total = price * 1.0825 + 0.1", "price > 100 && !vip ? max(price, 16777217) : -price / 3", "2 * 0.30000001");
+        ExpressionArchive.write(file, sources);
+
+        ExpressionArchive archive = ExpressionArchive.open(file);
+        ExpressionCache cache = new ExpressionCache(10);
+
+        assertEquals(3, cache.preload(archive));
+        assertEquals(sources, List.copyOf(archive.sources()));
+        for (String source : sources) {
+            assertEquals(CompiledExpression.fromString(source).eval(Map.of("price", 120.5f, "vip", 0.0f)),
+                    cache.get(source).eval(Map.of("price", 120.5f, "vip", 0.0f)));
+        }
+        assertEquals(new ExpressionCache.Stats(3, 0, 0, 3), cache.stats());
+        assertEquals("total", cache.get(sources.getFirst()).target().orElseThrow());
+    }
+
+    @Test
+    void rejectFilesThatAreNotArchives(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rules.txt");
+        Files.writeString(file, "1 + 1");
+
+        assertThrows(IOException.class, () -> ExpressionArchive.open(file));
+    }
+}
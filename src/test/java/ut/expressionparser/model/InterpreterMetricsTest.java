@@ -0,0 +1,112 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.Interpreter;
+import expressionparser.model.InterpreterListener;
+import expressionparser.model.InterpreterMetrics;
+import expressionparser.model.JfrInterpreterListener;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterpreterMetricsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordLatenciesPerPhaseAndEvaluationsPerExpression() {
+        InterpreterMetrics metrics = new InterpreterMetrics();
+        Interpreter interpreter = new Interpreter(metrics);
+
+        interpreter.execute("a = 2");
+        interpreter.execute("a * 3");
+        interpreter.execute("a * 3");
+
+        assertEquals(3, metrics.latency(InterpreterListener.Phase.PARSE).count());
+        assertEquals(3, metrics.latency(InterpreterListener.Phase.COMPILE).count());
+        InterpreterMetrics.Latency evaluation = metrics.latency(InterpreterListener.Phase.EVALUATE);
+        assertEquals(3, evaluation.count());
+        assertTrue(evaluation.percentile(50) <= evaluation.percentile(99));
+        assertEquals(Map.of("a = 2", 1L, "a * 3", 2L), metrics.evaluations());
+    }
+
+    @Test
+    void keepOnlyRecentlyEvaluatedExpressions() {
+        InterpreterMetrics metrics = new InterpreterMetrics(2);
+        Interpreter interpreter = new Interpreter(metrics);
+
+        interpreter.execute("x = 1");
+        interpreter.execute("x + 1");
+        interpreter.execute("x = 1");
+        interpreter.execute("x = 2");
+
+        assertEquals(Map.of("x = 1", 2L, "x = 2", 1L), metrics.evaluations());
+    }
+
+    @Test
+    void countEqualSourcesTogetherAndStayBounded() {
+        InterpreterMetrics metrics = new InterpreterMetrics(8);
+        Interpreter interpreter = new Interpreter(metrics);
+
+        interpreter.execute("y = 1");
+        interpreter.execute(new StringBuilder("y = 1"));
+        Map<String, Long> merged = metrics.evaluations();
+        for (int i = 0; i < 100; i++) {
+            interpreter.execute("y + " + i);
+        }
+
+        assertEquals(Map.of("y = 1", 2L), merged);
+        assertEquals(8, metrics.evaluations().size());
+        assertEquals(1L, metrics.evaluations().get("y + 99"));
+    }
+
+    @Test
+    void countFailuresByCategory() {
+        InterpreterMetrics metrics = new InterpreterMetrics();
+        Interpreter interpreter = new Interpreter(new ExpressionCache(10), metrics);
+
+        interpreter.execute("1 / 0");
+        interpreter.execute("2 +");
+        interpreter.execute("b");
+
+        assertEquals(3, metrics.failures(InterpreterListener.Failure.PARSER));
+        assertEquals(0, metrics.failures(InterpreterListener.Failure.UNEXPECTED));
+        assertEquals(2, metrics.latency(InterpreterListener.Phase.COMPILE).count());
+        assertEquals(0, metrics.latency(InterpreterListener.Phase.PARSE).count());
+    }
+
+    @Test
+    void emitFlightRecorderEvents() throws IOException {
+        Path file = directory.resolve("recording.jfr");
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("expressionparser.Phase");
+            recording.enable("expressionparser.Failure");
+            recording.start();
+            Interpreter interpreter = new Interpreter(new JfrInterpreterListener());
+            interpreter.execute("x = 4 * 2");
+            interpreter.execute("x / 0");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertEquals(5, events.stream().filter(event -> event.getEventType().getName().equals("expressionparser.Phase")).count());
+        RecordedEvent failure = events.stream()
+                .filter(event -> event.getEventType().getName().equals("expressionparser.Failure"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("x / 0", failure.getString("source"));
+        assertEquals("Division by zero is not allowed", failure.getString("message"));
+    }
+}
@@ -1,11 +1,33 @@
 package ut.expressionparser.model;
 
+import expressionparser.model.Backend;
+import expressionparser.model.ErrorCode;
+import expressionparser.model.Expression;
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.FunctionRegistry;
 import expressionparser.model.Interpreter;
+import expressionparser.model.ParserException;
+import expressionparser.model.Scope;
+import expressionparser.model.SharedInterpreter;
+import expressionparser.model.SymbolTable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class InterpreterTest {
 
@@ -219,7 +241,11 @@ class InterpreterTest {
             "1 < 2",
             "10 <= 10",
             " 9   <=   10  ",
-            "3 == 3"
+            "3 == 3",
+            "1 && 2",
+            "0 || -3",
+            "!0",
+            "!(1 > 2) && (2 > 1 || 1 / 0)"
     })
     void returnOneWhenExpressionIsTrue(String input) {
         inputAndExpected(input, "1");
@@ -232,7 +258,11 @@ class InterpreterTest {
             "4 != 4",
             "2 < 1",
             "10 <= 9",
-            "4 == 3"
+            "4 == 3",
+            "1 && 0",
+            "0 || 0",
+            "!5",
+            "0 && 1 / 0"
     })
     void returnZeroWhenExpressionIsFalse(String input) {
         inputAndExpected(input, "0");
@@ -243,6 +273,158 @@ class InterpreterTest {
         inputAndExpected("3==6/2", "1");
     }
 
+    @Test
+    void resolveConditionalExpression() {
+        inputAndExpected("0 ? 1 : 0 ? 2 : 3", "3");
+        inputAndExpected("1 ? 2 : 3 + 4", "2");
+        inputAndExpected("x = 2 > 1 ? 10 : 1 / 0", "x = 10");
+    }
+
+    @ParameterizedTest
+    @EnumSource(Backend.class)
+    void skipUndefinedVariablesInUntakenBranches(Backend backend) {
+        Interpreter interpreter = new Interpreter(new ExpressionCache(16, new SymbolTable(), backend));
+        interpreter.execute("x = 1");
+
+        assertEquals("1", interpreter.execute("x > 0 ? x : y").value());
+        assertEquals("1", interpreter.execute("x > 0 || y").value());
+        assertEquals("0", interpreter.execute("x < 0 && y + z").value());
+        assertEquals("w = 2", interpreter.execute("w = x < 0 ? y : max(x, 2)").value());
+        assertEquals(Optional.of(ErrorCode.UNDEFINED_VARIABLE), interpreter.execute("x < 0 ? x : y").error());
+        assertEquals("Undefined variable 'y'", interpreter.execute("x > 0 && y").value());
+        assertEquals(Optional.of(ErrorCode.UNDEFINED_VARIABLE), interpreter.execute("(x > 0 ? x : y) + y").error());
+    }
+
+    @Test
+    void callUserRegisteredFunctions() {
+        FunctionRegistry functions = new FunctionRegistry().binary("percent", FunctionRegistry.Purity.PURE, (value, rate) -> value * rate / 100);
+        Interpreter interpreter = new Interpreter(functions);
+
+        interpreter.execute("price = 80");
+
+        assertEquals("tax = 12", interpreter.execute("tax = percent(price, 15)").value());
+        assertEquals("100", interpreter.execute("max(abs(-price), 100)").value());
+    }
+
+    @Test
+    void keepVariablesSeparatedBetweenSessions() {
+        SharedInterpreter shared = new SharedInterpreter(new ExpressionCache(100));
+        Interpreter first = shared.newSession();
+        Interpreter second = shared.newSession();
+
+        first.execute("a = 10");
+
+        assertEquals("20", first.execute("a * 2").value());
+        assertEquals("Undefined variable 'a'", second.execute("a * 2").value());
+    }
+
+    @Test
+    void resolveGlobalVariablesWhenSessionDoesNotDefineThem() {
+        ExpressionCache cache = new ExpressionCache(100);
+        Scope globals = new Scope(cache.symbols());
+        globals.set("rate", 2);
+        SharedInterpreter shared = new SharedInterpreter(cache, globals);
+        Interpreter first = shared.newSession();
+        Interpreter second = shared.newSession();
+
+        first.execute("rate = 5");
+
+        assertEquals("50", first.execute("rate * 10").value());
+        assertEquals("20", second.execute("rate * 10").value());
+    }
+
+    @Test
+    void evaluateSessionsConcurrentlyOnVirtualThreads() throws Exception {
+        SharedInterpreter shared = new SharedInterpreter(new ExpressionCache(100));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = IntStream.range(0, 1000)
+                    .mapToObj(i -> executor.submit(() -> {
+                        Interpreter session = shared.newSession();
+                        session.execute("x = " + i);
+                        return session.execute("x * 2 + 1").value();
+                    }))
+                    .toList();
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(String.valueOf(i * 2 + 1), results.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    void reportTypedResultForAssignment() {
+        Interpreter.Result result = new Interpreter().execute("x = 4.5");
+
+        assertTrue(result.succeeded());
+        assertEquals(Optional.of("x"), result.variable());
+        assertEquals(4.5f, result.number());
+        assertEquals(Optional.empty(), result.error());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "2 + * 3; INVALID_START; 4",
+            "(1 + 2; MISSING_CLOSING_PARENTHESIS; 6",
+            "1 + 2) * 3; UNEXPECTED_CLOSING_PARENTHESIS; 5",
+            "4 5; EXPECTED_OPERATOR; 2",
+            "1 / 0; DIVISION_BY_ZERO; -1",
+            "y + 1; UNDEFINED_VARIABLE; -1",
+            "1 ? 2; MISSING_CONDITIONAL_SEPARATOR; 5",
+            "1 : 2; UNEXPECTED_CONDITIONAL_SEPARATOR; 2",
+            "(1 ? 2) : 3; MISSING_CONDITIONAL_SEPARATOR; 6",
+            "1 & 2; UNKNOWN_OPERATOR; 2",
+            "foo(1); UNKNOWN_FUNCTION; -1",
+            "sqrt(1, 2); INVALID_ARGUMENT_COUNT; -1",
+            "1, 2; UNEXPECTED_ARGUMENT_SEPARATOR; 1",
+            "max(1, (2, 3)); UNEXPECTED_ARGUMENT_SEPARATOR; 9",
+            "if(1, 2); INVALID_ARGUMENT_COUNT; 0"
+    })
+    void reportErrorCodeAndPosition(String input, ErrorCode code, int position) {
+        Interpreter.Result result = new Interpreter().execute(input);
+
+        assertFalse(result.succeeded());
+        assertEquals(Optional.of(code), result.error());
+        assertEquals(position, result.position());
+    }
+
+    @Test
+    void evaluateLongChainsAndDeepNestingWithoutRecursion() {
+        int terms = 100_000;
+        Interpreter interpreter = new Interpreter();
+        interpreter.execute("x = 1");
+
+        assertEquals("100000", interpreter.execute("x" + " + x".repeat(terms - 1)).value());
+        assertEquals("100000", interpreter.execute("x + (".repeat(terms - 1) + "x" + ")".repeat(terms - 1)).value());
+    }
+
+    @Test
+    void rejectNewVariablesOnceSymbolTableIsFull() {
+        SymbolTable symbols = new SymbolTable(new FunctionRegistry(), 1000);
+        IntStream.range(0, 1000).forEach(i -> assertEquals(i, symbols.slotOf("v" + i)));
+        Interpreter interpreter = new Interpreter(new ExpressionCache(16, symbols, Backend.TREE));
+
+        assertEquals("v999 = 2", interpreter.execute("v999 = 2").value());
+        assertEquals(Optional.of(ErrorCode.SYMBOL_LIMIT_EXCEEDED), interpreter.execute("w = 1").error());
+        assertEquals(1000, symbols.size());
+    }
+
+    @Test
+    void boundDefaultSymbolTable() {
+        Interpreter interpreter = new Interpreter();
+        String names = IntStream.rangeClosed(0, 1 << 16).mapToObj(i -> "v" + i).collect(Collectors.joining(" + "));
+
+        assertEquals(Optional.of(ErrorCode.SYMBOL_LIMIT_EXCEEDED), interpreter.execute(names).error());
+        assertEquals("w = 1", interpreter.execute("w = 1").value());
+    }
+
+    @Test
+    void throwExceptionsWithoutStackTrace() {
+        ParserException exception = assertThrows(ParserException.class, () -> Expression.fromString("2 +"));
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ErrorCode.INVALID_START, exception.code());
+        assertEquals("Invalid start of expression: \0", exception.getMessage());
+    }
+
     private void inputAndExpected(String input, String expected) {
         Interpreter interpreter = new Interpreter();
 
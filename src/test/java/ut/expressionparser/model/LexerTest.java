@@ -0,0 +1,68 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.Lexer;
+import expressionparser.model.Token;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LexerTest {
+
+    @Test
+    void tokenizeOnDemandKeepingPeekAndNextContract() {
+        Lexer lexer = new Lexer("abc1 >= 10.5");
+
+        Token peeked = lexer.peek();
+
+        assertSame(peeked, lexer.next());
+        assertEquals("abc1", peeked.value());
+        assertEquals(">=", lexer.next().value());
+        assertEquals("10.5", lexer.next().value());
+        assertSame(Token.EOF, lexer.peek());
+        assertSame(Token.EOF, lexer.next());
+    }
+
+    @Test
+    void reportTokenOffsetsInSource() {
+        Lexer lexer = new Lexer("  x *(y)");
+
+        assertEquals(List.of("2:3", "4:5", "5:6", "6:7", "7:8"), offsets(lexer));
+    }
+
+    @Test
+    void tokenizeCharArraysAndCharBuffers() {
+        assertEquals(List.of("a", "==", "-", ".5"), values(new Lexer("a==-.5".toCharArray())));
+        assertEquals(List.of("b", "!=", "2"), values(new Lexer(CharBuffer.wrap("b != 2"))));
+    }
+
+    @Test
+    void classifyTokens() {
+        Lexer lexer = new Lexer("x & 1");
+
+        assertEquals(Token.TokenType.ATOM, lexer.next().type());
+        assertEquals(Token.TokenType.OPERATOR, lexer.next().type());
+        assertEquals(Token.TokenType.ATOM, lexer.next().type());
+        assertEquals(Token.TokenType.EOF, lexer.next().type());
+    }
+
+    private static List<String> values(Lexer lexer) {
+        List<String> values = new ArrayList<>();
+        for (Token token = lexer.next(); token != Token.EOF; token = lexer.next()) {
+            values.add(token.value());
+        }
+        return values;
+    }
+
+    private static List<String> offsets(Lexer lexer) {
+        List<String> offsets = new ArrayList<>();
+        for (Token token = lexer.next(); token != Token.EOF; token = lexer.next()) {
+            offsets.add(token.start() + ":" + token.end());
+        }
+        return offsets;
+    }
+}
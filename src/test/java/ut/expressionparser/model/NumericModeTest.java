@@ -0,0 +1,115 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.DoubleExpression;
+import expressionparser.model.ErrorCode;
+import expressionparser.model.FixedPointExpression;
+import expressionparser.model.ParserException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NumericModeTest {
+
+    @Test
+    void evaluateWithDoublePrecision() {
+        DoubleExpression expression = DoubleExpression.fromString("total = x + 0.1 * 3");
+
+        assertEquals(Optional.of("total"), expression.target());
+        assertEquals(List.of("x"), expression.variables());
+        assertEquals(16_777_217.3, expression.eval(Map.of("x", 16_777_217.0)), 1e-9);
+        assertEquals(16_777_216.0f, CompiledExpression.fromString("x + 0.1 * 3").eval(16_777_217.0f));
+    }
+
+    @Test
+    void keepDivisionByZeroErrorWithDoublePrecision() {
+        DoubleExpression expression = DoubleExpression.fromString("x > 0 || 0 ? 1 / (x - x) : 0");
+
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(2.0));
+
+        assertEquals(ErrorCode.DIVISION_BY_ZERO, exception.code());
+    }
+
+    @Test
+    void skipUndefinedVariablesInUntakenBranchesInEveryNumericMode() {
+        DoubleExpression precise = DoubleExpression.fromString("x > 0 ? x : y");
+        FixedPointExpression fixed = FixedPointExpression.fromString("x > 0 ? x : y", 2);
+
+        assertEquals(2.0, precise.eval(Map.of("x", 2.0)));
+        assertEquals(new BigDecimal("2.00"), fixed.eval(Map.of("x", new BigDecimal("2"))));
+        assertEquals(ErrorCode.UNDEFINED_VARIABLE, assertThrows(ParserException.class, () -> precise.eval(Map.of("x", -1.0))).code());
+        assertEquals(ErrorCode.UNDEFINED_VARIABLE,
+                assertThrows(ParserException.class, () -> fixed.eval(Map.of("x", new BigDecimal("-1")))).code());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "price * quantity * (1 + rate); 4; 64.9175",
+            "0.1 + 0.2 == 0.3; 2; 1.00",
+            "10 / 3; 2; 3.33",
+            "-2 / 3; 2; -0.67",
+            "price / 0.07 - quantity; 6; 282.571429",
+            "-(price - 20) * 1000000; 2; 10000.00",
+            "quantity > 2 && !(rate > 1) ? price * 0.9 : price / 0; 2; 17.99",
+            "max(price, 20.5) * quantity - sqrt(quantity * 3); 2; 58.50"
+    })
+    void evaluateWithFixedPointArithmetic(String input, int scale, String expected) {
+        FixedPointExpression expression = FixedPointExpression.fromString(input, scale);
+        Map<String, BigDecimal> values = Map.of(
+                "price", new BigDecimal("19.99"),
+                "quantity", new BigDecimal("3"),
+                "rate", new BigDecimal("0.0825"));
+
+        assertEquals(new BigDecimal(expected), expression.eval(values));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "abs(x); 2; 90071992547409.93",
+            "floor(x); 2; -90071992547410.00",
+            "ceil(x); 2; -90071992547409.00",
+            "round(x); 2; -90071992547410.00",
+            "min(x, 1) - max(x, 1, -5); 2; -90071992547410.93",
+            "sqrt(6.25); 2; 2.50",
+            "sqrt(2); 18; 1.414213562373095049"
+    })
+    void evaluateFunctionsExactlyWithFixedPointArithmetic(String input, int scale, String expected) {
+        FixedPointExpression expression = FixedPointExpression.fromString(input, scale);
+
+        assertEquals(new BigDecimal(expected), expression.eval(Map.of("x", new BigDecimal("-90071992547409.93"))));
+    }
+
+    @Test
+    void rejectInexactFunctionsWithFixedPointArithmetic() {
+        ParserException exception = assertThrows(ParserException.class, () -> FixedPointExpression.fromString("x > 0 ? sin(x) : 0", 2));
+
+        assertEquals(ErrorCode.INEXACT_FUNCTION, exception.code());
+    }
+
+    @Test
+    void multiplyLargeScaledValuesWithoutIntermediateOverflow() {
+        FixedPointExpression expression = FixedPointExpression.fromString("a * b", 9);
+
+        long result = expression.eval(expression.toScaled(new BigDecimal("12345678.123456789")), expression.toScaled(new BigDecimal("100.5")));
+
+        assertEquals(new BigDecimal("1240740651.407407295"), expression.toDecimal(result));
+    }
+
+    @Test
+    void reportOverflowInFixedPointArithmetic() {
+        FixedPointExpression expression = FixedPointExpression.fromString("a * a * a", 4);
+
+        ParserException exception = assertThrows(ParserException.class,
+                () -> expression.eval(Map.of("a", new BigDecimal("10000000"))));
+
+        assertEquals(ErrorCode.NUMERIC_OVERFLOW, exception.code());
+    }
+}
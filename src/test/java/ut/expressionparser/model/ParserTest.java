@@ -0,0 +1,118 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.CompiledExpression;
+import expressionparser.model.ErrorCode;
+import expressionparser.model.Expression;
+import expressionparser.model.FunctionRegistry;
+import expressionparser.model.Lexer;
+import expressionparser.model.Parser;
+import expressionparser.model.ParserException;
+import expressionparser.model.ParserLimits;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParserTest {
+
+    @Test
+    void parseDeeplyNestedParenthesesWithoutRecursion() {
+        int depth = 100_000;
+        String input = "(".repeat(depth) + "1" + ")".repeat(depth);
+
+        Expression expression = Parser.parse(new Lexer(input), ParserLimits.UNLIMITED);
+
+        assertEquals(1.0f, expression.eval(Map.of()));
+    }
+
+    @Test
+    void parseLongChainOfTerms() {
+        int terms = 200_000;
+        String input = "1" + " + 1".repeat(terms - 1);
+
+        assertDoesNotThrow(() -> Parser.parse(new Lexer(input), ParserLimits.UNLIMITED));
+        assertEquals(1000.0f, Parser.parse(new Lexer(input.substring(0, 4 * 1000 - 3)), 0.0f).eval(Map.of()));
+    }
+
+    @Test
+    void keepOperatorAssociativityAndPrecedence() {
+        assertEquals(-1.0f, CompiledExpression.fromString("8 - 4 - 2 * 3 + 1").eval());
+        assertEquals(2.0f, CompiledExpression.fromString("-(1 + 2) * -2 / 3").eval());
+        assertEquals(1.0f, CompiledExpression.fromString("1 + 2 == 3").eval());
+    }
+
+    @Test
+    void stopAtOperatorBelowMinimumPrecedence() {
+        Lexer lexer = new Lexer("2 * 3 == 6");
+
+        Expression expression = Parser.parse(lexer, 1.0f);
+
+        assertEquals(6.0f, expression.eval(Map.of()));
+        assertEquals("==", lexer.next().value());
+    }
+
+    @Test
+    void evaluateParsedCallsAgainstGivenRegistry() {
+        FunctionRegistry functions = new FunctionRegistry().unary("square", FunctionRegistry.Purity.PURE, value -> value * value);
+        Expression expression = Expression.fromString("square(x) + max(x, 1)");
+
+        assertEquals(12.0f, expression.eval(Map.of("x", 3.0f), functions));
+        ParserException exception = assertThrows(ParserException.class, () -> expression.eval(Map.of("x", 3.0f)));
+        assertEquals(ErrorCode.UNKNOWN_FUNCTION, exception.code());
+    }
+
+    @Test
+    void rejectExpressionDeeperThanLimit() {
+        ParserLimits limits = new ParserLimits(3, 1000);
+
+        ParserException exception = assertThrows(ParserException.class,
+                () -> Parser.parse(new Lexer("((-(1)))"), limits));
+
+        assertEquals("Expression exceeds maximum depth of 3", exception.getMessage());
+        assertEquals(0.0f, Parser.parse(new Lexer("((1)) + (-1)"), limits).eval(Map.of()));
+    }
+
+    @Test
+    void countNodeDepthOfChainsConditionalsAndArguments() {
+        ParserLimits limits = new ParserLimits(3, 1000);
+
+        assertEquals(6.0f, Parser.parse(new Lexer("1 + 2 + 3"), limits).eval(Map.of()));
+        for (String input : new String[]{"1 + 2 + 3 + 4", "1 ? 2 : 0 ? 3 : 0 ? 4 : 5", "max(1, 2 * 3 - 4)"}) {
+            ParserException exception = assertThrows(ParserException.class, () -> Parser.parse(new Lexer(input), limits));
+            assertEquals(ErrorCode.MAXIMUM_DEPTH_EXCEEDED, exception.code());
+        }
+    }
+
+    @Test
+    void rejectExpressionLongerThanLimit() {
+        ParserException exception = assertThrows(ParserException.class,
+                () -> Parser.parse(new Lexer("1 + 2 + 3"), new ParserLimits(10, 8)));
+
+        assertEquals("Expression exceeds maximum length of 8 characters", exception.getMessage());
+    }
+
+    @Test
+    void keepRenderedMessageWhenSerialized() throws IOException, ClassNotFoundException {
+        ParserException exception = ParserException.at(4, ErrorCode.UNKNOWN_FUNCTION, new StringBuilder("square"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(exception);
+        }
+
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ParserException copy = (ParserException) input.readObject();
+
+            assertEquals("Unknown function 'square'", copy.getMessage());
+            assertEquals(ErrorCode.UNKNOWN_FUNCTION, copy.code());
+            assertEquals(4, copy.position());
+        }
+    }
+}
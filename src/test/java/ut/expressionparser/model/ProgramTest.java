@@ -0,0 +1,47 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.ErrorCode;
+import expressionparser.model.ParserException;
+import expressionparser.model.Program;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProgramTest {
+
+    @Test
+    void runScriptRepeatedlyWithNewInputs() {
+        Program program = Program.compile("subtotal = price * quantity; tax = subtotal * rate\ntotal = subtotal + tax", "total", "tax");
+
+        assertEquals(List.of("price", "quantity", "rate"), program.inputs());
+        assertEquals(List.of("total", "tax"), program.outputs());
+        assertArrayEquals(new float[]{11.0f, 1.0f}, program.run(5, 2, 0.1f), 1e-5f);
+        assertEquals(Map.of("total", 24.0f, "tax", 4.0f), program.run(Map.of("price", 10.0f, "quantity", 2.0f, "rate", 0.2f)));
+    }
+
+    @Test
+    void reassignedVariablesReadTheirLatestValue() {
+        Program program = Program.compile("a = x + 1; a = a * 2;; b = max(a, x)");
+
+        assertEquals(List.of("x"), program.inputs());
+        assertEquals(List.of("a", "b"), program.outputs());
+        assertArrayEquals(new float[]{8, 8}, program.run(3));
+        assertArrayEquals(new float[]{0, 0}, program.run(-1));
+    }
+
+    @Test
+    void rejectInvalidScriptsAndMissingInputs() {
+        assertEquals(ErrorCode.STATEMENT_NOT_ASSIGNMENT,
+                assertThrows(ParserException.class, () -> Program.compile("a = 1; a + 1")).code());
+        assertEquals(ErrorCode.UNDEFINED_VARIABLE,
+                assertThrows(ParserException.class, () -> Program.compile("a = 1", "b")).code());
+        Program program = Program.compile("a = b + c");
+        assertEquals(ErrorCode.UNDEFINED_VARIABLE,
+                assertThrows(ParserException.class, () -> program.run(Map.of("b", 1.0f))).code());
+    }
+}
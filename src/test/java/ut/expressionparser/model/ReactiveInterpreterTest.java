@@ -0,0 +1,117 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.Backend;
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.FunctionRegistry;
+import expressionparser.model.ReactiveInterpreter;
+import expressionparser.model.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReactiveInterpreterTest {
+
+    @Test
+    void recomputeDownstreamCellsWhenInputChanges() {
+        ReactiveInterpreter interpreter = new ReactiveInterpreter();
+        interpreter.execute("a = 1");
+        interpreter.execute("b = a * 2");
+        interpreter.execute("c = b + a");
+        interpreter.execute("d = 5");
+
+        assertEquals("a = 10", interpreter.execute("a = 10").value());
+
+        assertEquals(Map.of("a", 10.0f, "b", 20.0f, "c", 30.0f, "d", 5.0f), interpreter.variables());
+        assertEquals("31", interpreter.execute("c + 1").value());
+    }
+
+    @Test
+    void computeFormulaOnceItsInputsAreDefined() {
+        ReactiveInterpreter interpreter = new ReactiveInterpreter();
+
+        assertEquals("Undefined variable 'a'", interpreter.execute("b = a * 2").value());
+        assertEquals("a = 3", interpreter.execute("a = 3").value());
+
+        assertEquals(6.0f, interpreter.variables().get("b"));
+    }
+
+    @Test
+    void replaceFormulaAndItsDependencies() {
+        ReactiveInterpreter interpreter = new ReactiveInterpreter();
+        interpreter.execute("a = 1");
+        interpreter.execute("b = 2");
+        interpreter.execute("c = a + 1");
+
+        assertEquals("c = 3", interpreter.execute("c = b + 1").value());
+        interpreter.set("a", 100);
+        interpreter.set("b", 7);
+
+        assertEquals(8.0f, interpreter.variables().get("c"));
+    }
+
+    @Test
+    void rejectCircularDependencies() {
+        ReactiveInterpreter interpreter = new ReactiveInterpreter();
+        interpreter.execute("a = b + 1");
+        interpreter.execute("c = a * 2");
+
+        assertEquals("Circular dependency detected for variable 'b'", interpreter.execute("b = c - 1").value());
+        assertEquals("Circular dependency detected for variable 'a'", interpreter.execute("a = a + 1").value());
+        assertEquals("b = 1", interpreter.execute("b = 1").value());
+        assertEquals(4.0f, interpreter.variables().get("c"));
+    }
+
+    @Test
+    void clearDownstreamValuesWhileInputIsInvalid() {
+        ReactiveInterpreter interpreter = new ReactiveInterpreter();
+        interpreter.execute("a = 2");
+        interpreter.execute("b = 1 / a");
+        interpreter.execute("c = b + 1");
+
+        interpreter.set("a", 0);
+
+        assertFalse(interpreter.variables().containsKey("b"));
+        assertFalse(interpreter.variables().containsKey("c"));
+        interpreter.set("a", 4);
+        assertEquals(1.25f, interpreter.variables().get("c"));
+    }
+
+    @Test
+    void keepPropagatingWhenRegisteredFunctionThrows() {
+        FunctionRegistry functions = new FunctionRegistry()
+                .unary("checked", FunctionRegistry.Purity.IMPURE, value -> {
+                    if (value < 0) {
+                        throw new IllegalStateException("negative input");
+                    }
+                    return value;
+                });
+        ReactiveInterpreter interpreter = new ReactiveInterpreter(new ExpressionCache(16, new SymbolTable(functions), Backend.TREE));
+        interpreter.execute("a = 1");
+        interpreter.execute("b = checked(a)");
+        interpreter.execute("c = a * 2");
+        interpreter.execute("d = b + 1");
+
+        interpreter.set("a", -1);
+
+        assertEquals(Map.of("a", -1.0f, "c", -2.0f), interpreter.variables());
+        assertEquals("Unknown exception: negative input", interpreter.execute("b = checked(a - 1)").value());
+        assertEquals("a = 4", interpreter.execute("a = 4").value());
+        assertEquals(Map.of("a", 4.0f, "b", 3.0f, "c", 8.0f, "d", 4.0f), interpreter.variables());
+    }
+
+    @Test
+    void propagateThroughLongChainOfCells() {
+        ReactiveInterpreter interpreter = new ReactiveInterpreter();
+        interpreter.execute("x0 = 0");
+        for (int i = 1; i <= 10_000; i++) {
+            interpreter.execute("x" + i + " = x" + (i - 1) + " + 1");
+        }
+
+        interpreter.set("x0", 5);
+
+        assertEquals(10_005.0f, interpreter.variables().get("x10000"));
+    }
+}
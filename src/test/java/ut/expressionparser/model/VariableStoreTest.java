@@ -0,0 +1,94 @@
+package ut.expressionparser.model;
+
+import expressionparser.model.ErrorCode;
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.VariableStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VariableStoreTest {
+
+    @Test
+    void pinnedSnapshotIgnoresLaterAssignments() {
+        VariableStore store = new VariableStore(new ExpressionCache(16));
+        assertEquals("a = 2", store.execute("a = 2").value());
+        VariableStore.Snapshot pinned = store.snapshot();
+
+        assertEquals("a = 3", store.execute("a = a + 1").value());
+        store.set("b", 10);
+
+        assertEquals("4", pinned.execute("a * 2").value());
+        assertFalse(pinned.isDefined("b"));
+        assertEquals(Map.of("a", 3.0f, "b", 10.0f), store.snapshot().toMap());
+        assertEquals(pinned.version() + 2, store.snapshot().version());
+        assertEquals(Optional.of(ErrorCode.SNAPSHOT_READ_ONLY), pinned.execute("a = 1").error());
+        assertEquals(Optional.of(ErrorCode.UNDEFINED_VARIABLE), pinned.execute("b + 1").error());
+    }
+
+    @Test
+    void keepEveryVersionOfManyVariables() {
+        VariableStore store = new VariableStore(new ExpressionCache(16));
+        VariableStore.Snapshot[] versions = new VariableStore.Snapshot[2000];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = store.set("v" + i, i);
+        }
+
+        assertEquals(2000, store.snapshot().toMap().size());
+        assertEquals(1999.0f, store.snapshot().get("v1999"));
+        assertEquals(41.0f, versions[41].get("v41"));
+        assertFalse(versions[41].isDefined("v42"));
+        assertTrue(versions[1500].isDefined("v1024"));
+    }
+
+    @Test
+    void advanceVersionOncePerPublish() {
+        VariableStore store = new VariableStore(new ExpressionCache(16));
+        long initial = store.snapshot().version();
+
+        VariableStore.Snapshot batch = store.set(Map.of("a", 1.0f, "b", 2.0f, "c", 3.0f));
+        store.execute("d = a + b + c");
+
+        assertEquals(initial + 1, batch.version());
+        assertEquals(initial + 2, store.snapshot().version());
+        assertEquals(6.0f, store.snapshot().get("d"));
+        assertEquals(initial + 2, store.set(Map.of()).version());
+    }
+
+    @Test
+    void readersSeeConsistentSnapshotsWhileWriterPublishes() throws Exception {
+        VariableStore store = new VariableStore(new ExpressionCache(16));
+        store.set(Map.of("bid", 0.0f, "ask", 1.0f));
+        AtomicBoolean running = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 1; i <= 20_000; i++) {
+                    store.set(Map.of("bid", (float) i, "ask", i + 1.0f));
+                }
+                running.set(false);
+            });
+            Future<?>[] readers = new Future<?>[3];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = executor.submit(() -> {
+                    while (running.get()) {
+                        assertEquals("1", store.snapshot().execute("ask - bid").value());
+                    }
+                });
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        }
+        assertEquals(20_001.0f, store.snapshot().get("ask"));
+    }
+}
@@ -0,0 +1,139 @@
+package ut.expressionparser.server;
+
+import expressionparser.model.Backend;
+import expressionparser.model.ExpressionCache;
+import expressionparser.model.FunctionRegistry;
+import expressionparser.model.SymbolTable;
+import expressionparser.server.EvaluationServer;
+import expressionparser.server.LoadGenerator;
+import expressionparser.server.Protocol;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationServerTest {
+
+    private static EvaluationServer start(Protocol protocol) throws IOException {
+        return EvaluationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), protocol, new ExpressionCache(64));
+    }
+
+    @Test
+    void answerPipelinedLinesWithPerConnectionScopes() throws IOException {
+        try (EvaluationServer server = start(Protocol.LINE);
+             Socket first = new Socket(InetAddress.getLoopbackAddress(), server.port());
+             Socket second = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            first.getOutputStream().write("a = 2\nb = a * 21\n\nb / (a - 2)\nb + 0.5\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(List.of("a = 2", "b = 42", "", "ERROR DIVISION_BY_ZERO: Division by zero is not allowed", "42.5"),
+                    readLines(first, 5));
+
+            second.getOutputStream().write("a = 5\nb + 0.5\nb = a * 21\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(List.of("a = 5", "ERROR UNDEFINED_VARIABLE: Undefined variable 'b'", "b = 105"), readLines(second, 3));
+            assertEquals(2, server.cacheStats().hits());
+        }
+    }
+
+    @Test
+    void rejectOverlongAndTooDeepLinesWithoutDroppingTheConnection() throws IOException {
+        try (EvaluationServer server = EvaluationServer.start(0, Protocol.LINE);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            OutputStream output = socket.getOutputStream();
+            output.write("1".repeat((1 << 20) + 1).getBytes(StandardCharsets.UTF_8));
+            output.write(("\n" + "(".repeat(2000) + "1" + ")".repeat(2000) + "\n1 + 1\n").getBytes(StandardCharsets.UTF_8));
+
+            List<String> responses = readLines(socket, 3);
+            assertTrue(responses.get(0).startsWith("ERROR MAXIMUM_LENGTH_EXCEEDED: "));
+            assertTrue(responses.get(1).startsWith("ERROR MAXIMUM_DEPTH_EXCEEDED: "));
+            assertEquals("2", responses.get(2));
+        }
+    }
+
+    @Test
+    void keepOneConnectionFromExhaustingSharedSymbols() throws IOException {
+        ExpressionCache cache = new ExpressionCache(64, new SymbolTable(new FunctionRegistry(), 8), Backend.TREE);
+        try (EvaluationServer server = EvaluationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                Protocol.LINE, cache, 3);
+             Socket first = new Socket(InetAddress.getLoopbackAddress(), server.port());
+             Socket second = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            first.getOutputStream().write("a = 1\nb = c\nd + e + f\ng = 2\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(List.of("a = 1", "ERROR UNDEFINED_VARIABLE: Undefined variable 'c'",
+                    "ERROR SYMBOL_LIMIT_EXCEEDED: Symbol table exceeds maximum of 3 variables",
+                    "ERROR SYMBOL_LIMIT_EXCEEDED: Symbol table exceeds maximum of 3 variables"), readLines(first, 4));
+
+            second.getOutputStream().write("x = 1\ny = x + 1\nz = y * 2\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(List.of("x = 1", "y = 2", "z = 4"), readLines(second, 3));
+        }
+    }
+
+    @Test
+    void answerBatchFrames() throws IOException {
+        try (EvaluationServer server = start(Protocol.FRAMED);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+            writeFrame(output, "x = 4", "x * x");
+            writeFrame(output, "x +");
+            DataInputStream input = new DataInputStream(socket.getInputStream());
+
+            assertEquals(List.of("0 x = 4", "0 16"), readFrame(input));
+            assertEquals(1, readFrame(input).size());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Protocol.class)
+    void generateLoadAcrossConnections(Protocol protocol) throws IOException {
+        try (EvaluationServer server = start(protocol)) {
+            LoadGenerator generator = new LoadGenerator(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()), protocol);
+
+            LoadGenerator.Report report = generator.run(List.of("a = 1", "a + 1", "c"), 4, 50, 8);
+
+            assertEquals(200, report.requests());
+            assertEquals(64, report.failures());
+            assertEquals(3, server.cacheStats().size());
+        }
+    }
+
+    private static List<String> readLines(Socket socket, int count) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = reader.readLine();
+        }
+        return List.of(lines);
+    }
+
+    private static void writeFrame(DataOutputStream output, String... expressions) throws IOException {
+        output.writeInt(expressions.length);
+        for (String expression : expressions) {
+            byte[] bytes = expression.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+        output.flush();
+    }
+
+    private static List<String> readFrame(DataInputStream input) throws IOException {
+        String[] responses = new String[input.readInt()];
+        for (int i = 0; i < responses.length; i++) {
+            byte status = input.readByte();
+            byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            responses[i] = status + " " + new String(bytes, StandardCharsets.UTF_8);
+        }
+        return List.of(responses);
+    }
+}